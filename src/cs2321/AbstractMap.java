@@ -1,6 +1,13 @@
 package cs2321;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import net.datastructures.Entry;
 import net.datastructures.Map;
@@ -13,10 +20,16 @@ public abstract class AbstractMap<K,V> implements Map<K,V> {
 	public static class mapEntry<K,V> implements Entry<K,V> {
 		K  key;
 		V  value;
+		int hash; //cached hash of key, saves rehashing on resize and prefilters equals() on lookup
 		
 		public mapEntry(K key2, V value2) {
+			this(key2, value2, key2 == null ? 0 : key2.hashCode());
+		}
+		
+		public mapEntry(K key2, V value2, int hash2) {
 			key = key2;
 			value = value2;
+			hash = hash2;
 		}
 
 		@Override
@@ -32,7 +45,150 @@ public abstract class AbstractMap<K,V> implements Map<K,V> {
 		public void setValue(V newValue) {
 			value = newValue;
 		}
+		
+		public int getHash() {
+			return hash;
+		}
 	}	
+	
+	//hash aware variants used by HashMap on its buckets, the hash is the one HashMap computed for the key
+	//maps that don't cache hashes simply ignore it
+	V get(K key, int hash) {
+		return get(key);
+	}
+	
+	V put(K key, V value, int hash) {
+		return put(key, value);
+	}
+	
+	V remove(K key, int hash) {
+		return remove(key);
+	}
+	
+	V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return compute(key, remapping);
+	}
+	
+	//read-modify-write operations, all built on compute so a map that overrides compute
+	//with a single search gets single search versions of the others for free
+	
+	//returns value linked to given key, or defaultValue if key not found
+	public V getOrDefault(K key, V defaultValue) {
+		V value = get(key);
+		return (value == null) ? defaultValue : value;
+	}
+	
+	//stores the value returned by remapping for the key and its current value (null if absent)
+	//a null result removes the entry, returns the new value or null if none
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//default searches twice, once in get and once in put/remove
+		
+		V old = get(key);
+		V value = remapping.apply(key, old);
+		if (value == null) {
+			if (old != null) {
+				remove(key);
+			}
+		}
+		else {
+			put(key, value);
+		}
+		return value;
+	}
+	
+	//if key is absent stores the value returned by mapping (unless null), returns the current value
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		return compute(key, (k, old) -> (old != null) ? old : mapping.apply(k));
+	}
+	
+	//if key is present replaces its value with the one returned by remapping, null removes the entry
+	//returns the new value or null if none
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return compute(key, (k, old) -> (old == null) ? null : remapping.apply(k, old));
+	}
+	
+	//stores value if key is absent, otherwise combines the old value with value using remapping
+	//a null result removes the entry, returns the new value or null if none
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		return compute(key, (k, old) -> (old == null) ? value : remapping.apply(old, value));
+	}
+	
+	//stores value only if key is absent, returns the existing value or null if value was stored
+	@SuppressWarnings("unchecked")
+	public V putIfAbsent(K key, V value) {
+		V[] previous = (V[]) new Object[1];
+		compute(key, (k, old) -> {
+			previous[0] = old;
+			return (old != null) ? old : value;
+		});
+		return previous[0];
+	}
+	
+	//bulk operations, the defaults below just loop over put/get
+	//maps override them to presize or sort the batch once instead of paying per entry
+	
+	//puts every entry of the batch, for a repeated key the last entry wins
+	public void putAll(Iterable<? extends Entry<K,V>> entries) {
+		for (Entry<K,V> e : entries) {
+			put(e.getKey(), e.getValue());
+		}
+	}
+	
+	//looks up every key of the batch, returns the mappings found in the order the keys were given
+	//keys with no entry are left out
+	@SuppressWarnings("unchecked")
+	public ArrayList<Entry<K,V>> getAll(Iterable<K> keys) {
+		Object[] batch = collect(keys);
+		Object[] found = new Object[batch.length];
+		for (int j = 0; j < batch.length; j++) {
+			found[j] = get((K) batch[j]);
+		}
+		return found(batch, found);
+	}
+	
+	//copies an iterable into an array so a batch can be counted and sorted before it is applied
+	static Object[] collect(Iterable<?> items) {
+		Object[] answer = new Object[16];
+		int n = 0;
+		for (Object item : items) {
+			if (n == answer.length) {
+				answer = Arrays.copyOf(answer, 2 * n);
+			}
+			answer[n++] = item;
+		}
+		return Arrays.copyOf(answer, n);
+	}
+	
+	//pairs up keys with the values found for them (null for a miss), in key order
+	@SuppressWarnings("unchecked")
+	ArrayList<Entry<K,V>> found(Object[] keys, Object[] values) {
+		ArrayList<Entry<K,V>> answer = new ArrayList<>(keys.length);
+		for (int j = 0; j < keys.length; j++) {
+			if (values[j] != null) {
+				answer.addLast(new mapEntry<>((K) keys[j], (V) values[j]));
+			}
+		}
+		return answer;
+	}
+
+	//returns a spliterator over the entries, maps that can split their storage directly override this
+	//the default splits the entry iterator into array batches, so only the batches run in parallel
+	@TimeComplexity("O(1)")
+	public Spliterator<Entry<K,V>> spliterator() {
+		return Spliterators.spliterator(entrySet().iterator(), size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+	
+	//returns a sequential stream of the entries
+	@TimeComplexity("O(1)")
+	public Stream<Entry<K,V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	//returns a parallel stream of the entries, split by spliterator()
+	@TimeComplexity("O(1)")
+	public Stream<Entry<K,V>> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
 
 	private class keyIterator implements Iterator<K> {
 		private Iterator<Entry<K,V>> entries = entrySet().iterator();
@@ -1,6 +1,10 @@
 package cs2321;
 
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import net.datastructures.List;
 
@@ -14,12 +18,10 @@ public class ArrayList<E> implements List<E>, Iterable<E> {
 		int cursor = -1;
 		
 		// Check if next item in ArrayList exists
+		// Bounded by size, so a full array or a null element doesn't end the iteration early or late
 		@Override
 		public boolean hasNext() {
-			if(data[cursor+1] != null) {
-				return true;
-			}
-			return false;
+			return cursor+1 < size;
 		}
 
 		// Return next item in ArrayList
@@ -95,9 +97,9 @@ public class ArrayList<E> implements List<E>, Iterable<E> {
 	public void add(int i, E e) throws IndexOutOfBoundsException {
 		checkIndex(i, size + 1);
 		
-		// Expand ArrayList if needed
+		// Expand ArrayList if needed, an exactly sized empty list has no slots to double
 		if(size == data.length) {
-			resize(data.length * 2);
+			resize(Math.max(1, data.length * 2));
 		}
 		
 		// Shift elements
@@ -136,6 +138,22 @@ public class ArrayList<E> implements List<E>, Iterable<E> {
 		return (Iterator<E>) new ArrayListIterator();
 	}
 
+	// Returns spliterator over the elements, splits by halving the index range
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(data, 0, size, Spliterator.ORDERED);
+	}
+	
+	// Returns sequential stream of the elements
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	// Returns parallel stream of the elements
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 	// Adds element e at first node in ArrayList
 	// e: Element to add at start of ArrayList
 	public void addFirst(E e)  {
@@ -146,7 +164,7 @@ public class ArrayList<E> implements List<E>, Iterable<E> {
 	// e: Element to add at end of ArrayList
 	public void addLast(E e)  {
 		if(size == data.length) {
-			resize(data.length * 2);
+			resize(Math.max(1, data.length * 2));
 		}
 		data[size] = e;
 		size++;
@@ -162,6 +180,7 @@ public class ArrayList<E> implements List<E>, Iterable<E> {
 	public E removeLast() throws IndexOutOfBoundsException {
 		E temp = data[size-1];
 		data[size-1] = null;
+		size--;
 		return temp;
 	}
 	
@@ -1,5 +1,12 @@
 package cs2321;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+
 import net.datastructures.Entry;
 import net.datastructures.Position;
 import net.datastructures.SortedMap;
@@ -56,6 +63,42 @@ public class BinarySearchTree<K extends Comparable<K>,V> extends AbstractMap<K,V
 		}
 	}
 	
+	//returns true if a batch of m operations is cheaper done one search at a time than by
+	//walking the whole tree, which is when m lg n < n
+	@TimeComplexity("O(1)")
+	private boolean smallBatch(int m) {
+		int lg = 32 - Integer.numberOfLeadingZeros(size);
+		return (long) m * lg < size;
+	}
+	
+	//returns every entry of the tree in key order
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n)")
+	private Entry<K,V>[] sortedEntries() {
+		Entry<K,V>[] answer = (Entry<K,V>[]) new Entry[size];
+		int n = 0;
+		for(Position<Entry<K,V>> p : tree.inorder()) {
+			if (tree.isInternal(p)) {
+				answer[n++] = p.getElement();
+			}
+		}
+		return answer;
+	}
+	
+	//fills the external node p with a balanced subtree holding sorted entries low through high
+	@TimeComplexity("O(n)")
+	private void buildBalanced(Position<Entry<K,V>> p, Entry<K,V>[] entries, int low, int high) {
+		//each entry is placed once, the recursion is only lg n deep because every call halves the range
+		
+		if (low > high) {
+			return;
+		}
+		int mid = (low + high) / 2;
+		expandExternal(p, entries[mid]);
+		buildBalanced(tree.left(p), entries, low, mid - 1);
+		buildBalanced(tree.right(p), entries, mid + 1, high);
+	}
+	
 	//functions
 	//
 	
@@ -118,22 +161,132 @@ public class BinarySearchTree<K extends Comparable<K>,V> extends AbstractMap<K,V
 		else 
 		{
 			V old = p.getElement().getValue();
-			
-			if (tree.isExternal(tree.left(p))) {
-				removeLeafAndBranch(tree.left(p));
+			removePosition(p);
+			return old;
+		}
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//calls treeSearch once, the insert or removal then starts from the node it found
+		
+		Position<Entry<K,V>> p = treeSearch(tree.root(), key);
+		boolean present = tree.isInternal(p);
+		V value = remapping.apply(key, present ? p.getElement().getValue() : null);
+		if (present && value != null) {
+			tree.set(p, new mapEntry<>(key, value));
+		}
+		else if (present) {
+			removePosition(p);
+		}
+		else if (value != null) {
+			expandExternal(p, new mapEntry<>(key, value));
+			size++;
+		}
+		return value;
+	}
+
+	//puts every entry of the batch, for a repeated key the last entry wins
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n + m lg m)")
+	public void putAll(Iterable<? extends Entry<K,V>> entries) {
+		//a batch that is small next to the tree is put one entry at a time
+		//otherwise sorting the m entries is O(m lg m), merging them with the tree's entries in order
+		//is O(n + m), and rebuilding the tree from the merged list is O(n + m) and leaves it balanced
+		
+		Object[] batch = collect(entries);
+		if (smallBatch(batch.length)) {
+			for (Object e : batch) {
+				put(((Entry<K,V>) e).getKey(), ((Entry<K,V>) e).getValue());
 			}
-			else if (tree.isExternal(tree.right(p))) {
-				removeLeafAndBranch(tree.right(p));
-			} 
-			else {
-				Position<Entry<K,V>> n = succ(p);
-				tree.set(p, n.getElement());
-				removeLeafAndBranch(tree.left(n));
+			return;
+		}
+		//the sort is stable, so the last entry of a run of equal keys is the one put last
+		Arrays.sort(batch, (a, b) -> ((Entry<K,V>) a).getKey().compareTo(((Entry<K,V>) b).getKey()));
+		Entry<K,V>[] existing = sortedEntries();
+		Entry<K,V>[] merged = (Entry<K,V>[]) new Entry[existing.length + batch.length];
+		int count = 0;
+		int n = 0;
+		for (int j = 0; j < batch.length; j++) {
+			Entry<K,V> e = (Entry<K,V>) batch[j];
+			K key = e.getKey();
+			if (j + 1 < batch.length && key.compareTo(((Entry<K,V>) batch[j + 1]).getKey()) == 0) {
+				continue;
 			}
-			
-			size--;
-			return old;
+			while (n < existing.length && key.compareTo(existing[n].getKey()) > 0) {
+				merged[count++] = existing[n++];
+			}
+			if (n < existing.length && key.compareTo(existing[n].getKey()) == 0) {
+				n++;
+			}
+			merged[count++] = new mapEntry<>(key, e.getValue());
+		}
+		while (n < existing.length) {
+			merged[count++] = existing[n++];
+		}
+		tree = new LinkedBinaryTree<>();
+		tree.addRoot(null);
+		size = count;
+		buildBalanced(tree.root(), merged, 0, count - 1);
+	}
+	
+	//looks up every key of the batch, returns the mappings found in the order the keys were given
+	//keys with no entry are left out
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n + m lg m)")
+	public ArrayList<Entry<K,V>> getAll(Iterable<K> keys) {
+		//a batch that is small next to the tree is looked up one key at a time
+		//otherwise sorting the m keys is O(m lg m) and matching them against the tree's entries in order is O(n + m)
+		
+		Object[] batch = collect(keys);
+		Object[] found = new Object[batch.length];
+		if (smallBatch(batch.length)) {
+			for (int j = 0; j < batch.length; j++) {
+				found[j] = get((K) batch[j]);
+			}
+			return found(batch, found);
+		}
+		Integer[] order = new Integer[batch.length];
+		for (int j = 0; j < batch.length; j++) {
+			order[j] = j;
 		}
+		Arrays.sort(order, (a, b) -> ((K) batch[a]).compareTo((K) batch[b]));
+		Entry<K,V>[] existing = sortedEntries();
+		int n = 0;
+		for (int j : order) {
+			K key = (K) batch[j];
+			while (n < existing.length && key.compareTo(existing[n].getKey()) > 0) {
+				n++;
+			}
+			if (n < existing.length && key.compareTo(existing[n].getKey()) == 0) {
+				found[j] = existing[n].getValue();
+			}
+		}
+		return found(batch, found);
+	}
+
+	//removes the entry stored at internal node p
+	@TimeComplexity("O(n)")
+	private void removePosition(Position<Entry<K,V>> p) {
+		//finding the successor can walk the height of the tree
+		
+		if (tree.isExternal(tree.left(p))) {
+			removeLeafAndBranch(tree.left(p));
+		}
+		else if (tree.isExternal(tree.right(p))) {
+			removeLeafAndBranch(tree.right(p));
+		} 
+		else {
+			Position<Entry<K,V>> n = succ(p);
+			tree.set(p, n.getElement());
+			removeLeafAndBranch(tree.left(n));
+		}
+		size--;
 	}
 
 	//removes given external node and its parent
@@ -180,7 +333,7 @@ public class BinarySearchTree<K extends Comparable<K>,V> extends AbstractMap<K,V
 	public Iterable<Entry<K, V>> entrySet() {
 		//calls inorder, which is O(n)
 		
-		ArrayList<Entry<K,V>> buffer = new ArrayList<>(size+1);
+		ArrayList<Entry<K,V>> buffer = new ArrayList<>(size);
 		
 		for(Position<Entry<K,V>> p : tree.inorder()) {
 			if (tree.isInternal(p)) {
@@ -190,6 +343,140 @@ public class BinarySearchTree<K extends Comparable<K>,V> extends AbstractMap<K,V
 		return buffer;
 	}
 	
+	//private class for spliterator, keeps the rest of its in order walk as a list of parts, front first:
+	//a Position stands for its whole subtree, an Entry for just that entry
+	//splitting hands the parts before the last subtree to a new spliterator, and a part that can't be
+	//split that way, such as a spine of a tree built from sorted keys, is cut into array batches instead
+	private class EntrySpliterator implements Spliterator<Entry<K,V>> {
+		
+		static final int BATCH_UNIT = 1 << 10; //each batch is this much larger than the one before
+		static final int MAX_BATCH = 1 << 25;
+		
+		private ArrayDeque<Object> pending;
+		private long est; //exact until the first split, after that half of the parent's estimate
+		private boolean split;
+		private int batch = 0; //size of the last batch handed off
+		
+		EntrySpliterator(ArrayDeque<Object> pending, long est, boolean split) {
+			this.pending = pending;
+			this.est = est;
+			this.split = split;
+		}
+		
+		//adds the subtree at p to the front of the walk, unless it holds no entries
+		private void addSubtreeFirst(Position<Entry<K,V>> p) {
+			if (tree.isInternal(p)) {
+				pending.addFirst(p);
+			}
+		}
+		
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(Consumer<? super Entry<K,V>> action) {
+			while (!pending.isEmpty()) {
+				Object part = pending.pollFirst();
+				if (part instanceof Position) {
+					//replace the subtree by the entries down its left spine and their right subtrees
+					Position<Entry<K,V>> p = (Position<Entry<K,V>>) part;
+					while (tree.isInternal(p)) {
+						addSubtreeFirst(tree.right(p));
+						pending.addFirst(p.getElement());
+						p = tree.left(p);
+					}
+				}
+				else {
+					action.accept((Entry<K,V>) part);
+					return true;
+				}
+			}
+			return false;
+		}
+		
+		//hands the parts before the last subtree to a new spliterator, a lone subtree is first opened
+		//into its left subtree, entry and right subtree, but only if both sides hold entries
+		@SuppressWarnings("unchecked")
+		@TimeComplexity("O(n)")
+		@TimeComplexityExpected("O(1)")
+		public Spliterator<Entry<K,V>> trySplit() {
+			//opening a subtree and swapping deques are O(1), nothing is copied;
+			//only a batch costs time, O(b) for its b entries, the same as walking them
+			
+			Object last = pending.peekLast();
+			if (pending.size() == 1 && last instanceof Position) {
+				Position<Entry<K,V>> p = (Position<Entry<K,V>>) last;
+				if (!tree.isInternal(tree.left(p)) || !tree.isInternal(tree.right(p))) {
+					//one side is empty, so splitting here would hand off a single entry
+					return batch();
+				}
+				pending.pollLast();
+				pending.addFirst(tree.right(p));
+				pending.addFirst(p.getElement());
+				pending.addFirst(tree.left(p));
+				last = pending.peekLast();
+			}
+			if (last instanceof Position && pending.size() > 2) {
+				//the deque itself changes hands, this spliterator keeps only the last subtree
+				ArrayDeque<Object> prefix = pending;
+				pending = new ArrayDeque<>();
+				pending.addLast(prefix.pollLast());
+				return handOff(prefix);
+			}
+			if (pending.peekFirst() instanceof Position && pending.size() > 1) {
+				//the front subtree comes before every other part, so it can go alone
+				ArrayDeque<Object> prefix = new ArrayDeque<>();
+				prefix.addLast(pending.pollFirst());
+				return handOff(prefix);
+			}
+			return batch();
+		}
+		
+		//returns a new spliterator over the given front parts, each side keeps half the estimate
+		private Spliterator<Entry<K,V>> handOff(ArrayDeque<Object> prefix) {
+			est >>>= 1;
+			split = true;
+			return new EntrySpliterator(prefix, est, true);
+		}
+		
+		//returns a spliterator over an array of the next entries, or null if there are none left
+		//batches grow by BATCH_UNIT so a long walk is handed off in a logarithmic number of pieces
+		@TimeComplexity("O(n)")
+		private Spliterator<Entry<K,V>> batch() {
+			int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+			Object[] entries = new Object[n];
+			Object[] next = new Object[1];
+			int j = 0;
+			while (j < n && tryAdvance(e -> next[0] = e)) {
+				entries[j++] = next[0];
+			}
+			if (j == 0) {
+				return null;
+			}
+			batch = j;
+			est = Math.max(0, est - j);
+			return Spliterators.spliterator(entries, 0, j, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+		}
+		
+		public long estimateSize() {
+			return est;
+		}
+		
+		public int characteristics() {
+			return (split ? 0 : Spliterator.SIZED) | Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+	}
+	
+	//returns a spliterator over the entries in key order, splitting the tree into subtrees
+	@Override
+	@TimeComplexity("O(1)")
+	public Spliterator<Entry<K, V>> spliterator() {
+		//no entries are copied until a split falls back to a batch, see EntrySpliterator.trySplit
+		
+		ArrayDeque<Object> pending = new ArrayDeque<>();
+		if (tree.isInternal(tree.root())) {
+			pending.addLast(tree.root());
+		}
+		return new EntrySpliterator(pending, size, false);
+	}
+	
 	//returns smallest entry
 	@Override
 	@TimeComplexity("O(n)")
@@ -0,0 +1,146 @@
+package cs2321;
+
+import java.util.Arrays;
+
+/*
+ * Set of elements that can only answer "definitely not added" or "maybe added", in a few bits
+ * per element. This is a blocked Bloom filter: an element's hash picks one block of 512 bits
+ * (one cache line) and sets k bits inside it, so adding or testing touches a single line
+ * instead of k scattered ones. Blocks fill unevenly, so the false positive rate comes out a
+ * little above the classic filter of the same size.
+ * Elements can't be removed; to forget elements clear the filter and add the remaining ones.
+ */
+
+public class BloomFilter<E> {
+
+	//vars
+	//
+	static final int BLOCK_BITS = 512;
+	static final int BLOCK_LONGS = BLOCK_BITS / 64;
+
+	private final long[] bits;
+	private final int blocks;
+	private final int hashes; //bits set per element
+	private final int capacity; //elements the filter was sized for
+	private final double fpp; //false positive rate wanted at capacity
+
+	//constructors
+	//
+
+	//instantiate sized so that after expectedInsertions elements a test for an absent element
+	//comes out positive with probability about fpp
+	public BloomFilter(int expectedInsertions, double fpp) {
+		if (!(fpp > 0 && fpp < 1)) {
+			throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+		}
+		this.capacity = Math.max(1, expectedInsertions);
+		this.fpp = fpp;
+		//start from the classic optimum, m = -n ln p / (ln 2)^2 bits and k = m / n ln 2 hashes,
+		//then add blocks until the uneven fill of blocks still meets fpp
+		double m = -capacity * Math.log(fpp) / (Math.log(2) * Math.log(2));
+		int k = (int) Math.max(1, Math.min(16, Math.round(m / capacity * Math.log(2))));
+		long b = (long) Math.max(1, Math.ceil(m / BLOCK_BITS));
+		while (b < Integer.MAX_VALUE / BLOCK_LONGS && blockedFpp((double) capacity / b, k) > fpp) {
+			b += Math.max(1, b / 20);
+		}
+		blocks = (int) Math.min(b, Integer.MAX_VALUE / BLOCK_LONGS);
+		hashes = k;
+		bits = new long[blocks * BLOCK_LONGS];
+	}
+
+	//utility
+	//
+
+	//returns the false positive rate of k hashes when blocks hold perBlock elements on average:
+	//the rate of one block holding j elements, weighted by the Poisson chance of j
+	static double blockedFpp(double perBlock, int k) {
+		double rate = 0;
+		double weight = Math.exp(-perBlock); //Poisson probability of j, starting at j = 0
+		int last = (int) (perBlock + 10 * Math.sqrt(perBlock) + 10);
+		for (int j = 0; j <= last; j++) {
+			rate += weight * Math.pow(1 - Math.pow(1 - 1.0 / BLOCK_BITS, (double) k * j), k);
+			weight *= perBlock / (j + 1);
+		}
+		return rate;
+	}
+
+	//returns a 64 bit hash of e, spread so both halves vary
+	private static long hash(Object e) {
+		long h = HashStrategy.mix(e.hashCode()) * 0x9E3779B97F4A7C15L;
+		return h ^ (h >>> 29);
+	}
+
+	//steps a 64 bit LCG whose top 9 bits give the next bit of the block to use
+	//double hashing would be cheaper, but within 512 bits its arithmetic progressions overlap
+	//often enough to double the false positive rate at low rates
+	private static long nextPosition(long h) {
+		return h * 6364136223846793005L + 1442695040888963407L;
+	}
+
+	//returns the index of the first long of the block for hash h
+	private int blockOf(long h) {
+		return (int) (((h >>> 32) * blocks) >>> 32) * BLOCK_LONGS;
+	}
+
+	//functions
+	//
+
+	//records e, after which mightContain(e) is always true
+	@TimeComplexity("O(1)")
+	public void add(E e) {
+		//k bit positions, all in one block
+
+		long h = hash(e);
+		int block = blockOf(h);
+		for (int i = 0; i < hashes; i++) {
+			h = nextPosition(h);
+			int bit = (int) (h >>> 55);
+			bits[block + (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	//returns false if e was never added, true if it probably was
+	@TimeComplexity("O(1)")
+	public boolean mightContain(E e) {
+		long h = hash(e);
+		int block = blockOf(h);
+		for (int i = 0; i < hashes; i++) {
+			h = nextPosition(h);
+			int bit = (int) (h >>> 55);
+			if ((bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//forgets every element
+	@TimeComplexity("O(n)")
+	public void clear() {
+		Arrays.fill(bits, 0);
+	}
+
+	//returns the number of elements the filter was sized for
+	@TimeComplexity("O(1)")
+	public int capacity() {
+		return capacity;
+	}
+
+	//returns the false positive rate the filter was sized for
+	@TimeComplexity("O(1)")
+	public double fpp() {
+		return fpp;
+	}
+
+	//returns the number of bits set per element
+	@TimeComplexity("O(1)")
+	public int hashCount() {
+		return hashes;
+	}
+
+	//returns the size of the filter in bits
+	@TimeComplexity("O(1)")
+	public long bitSize() {
+		return (long) bits.length * 64;
+	}
+}
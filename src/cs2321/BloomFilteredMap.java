@@ -0,0 +1,242 @@
+package cs2321;
+
+import java.util.function.BiFunction;
+
+import net.datastructures.*;
+
+/*
+ * Wraps any map with a BloomFilter of its keys, so a get for a key that was never put is
+ * usually answered by the filter without searching the map. That pays off when many lookups
+ * miss and the map is slow to search, like a LookupTable or a MappedHashMap.
+ * Every put adds its key to the filter. A filter can't forget keys, so once more keys were
+ * added than it was sized for, or once removed keys outnumber the live ones, the filter is
+ * rebuilt from the map's keys. Lookups, short circuited lookups and false positives are counted.
+ * The wrapped map must not be changed except through the wrapper.
+ */
+
+public class BloomFilteredMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	static final int MIN_CAPACITY = 16;
+
+	private final Map<K,V> map;
+	private final double fpp;
+	private BloomFilter<K> filter;
+	private int added = 0; //keys added to the filter since it was built, removed ones included
+	private int removals = 0; //keys removed since the filter was last built
+	private long lookups = 0;
+	private long shortCircuits = 0;
+	private long falsePositives = 0;
+	private long rebuilds = 0;
+
+	//constructors
+	//
+
+	//instantiate wrapping map, with a filter that passes about 1% of absent keys
+	public BloomFilteredMap(Map<K,V> map) {
+		this(map, 0.01);
+	}
+
+	//instantiate wrapping map, with a filter that passes about the given fraction of absent keys
+	public BloomFilteredMap(Map<K,V> map, double fpp) {
+		this.map = map;
+		this.fpp = fpp;
+		buildFilter();
+	}
+
+	//utility
+	//
+
+	//sizes a new filter for twice the current entries and adds every key
+	@TimeComplexity("O(n)")
+	private void buildFilter() {
+		filter = new BloomFilter<>(Math.max(MIN_CAPACITY, 2 * map.size()), fpp);
+		for (Entry<K,V> e : map.entrySet()) {
+			filter.add(e.getKey());
+		}
+		added = map.size();
+		removals = 0;
+	}
+
+	//rebuilds the filter once more keys were added than it was sized for, past which its
+	//false positive rate climbs above fpp
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void afterInsert() {
+		//a new filter has room for as many keys again as the map holds, so rebuilds amortize to O(1) per insert
+
+		if (++added > filter.capacity()) {
+			rebuildFilter();
+		}
+	}
+
+	//rebuilds the filter, smaller, once most of the keys it holds were removed from the map
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void afterRemove() {
+		//a rebuild follows more removes than there are entries left, so rebuilds amortize to O(1) per remove
+
+		if (++removals > map.size()) {
+			rebuildFilter();
+		}
+	}
+
+	//functions
+	//
+
+	//rebuilds the filter from the map's current keys, dropping the bits of removed ones
+	@TimeComplexity("O(n)")
+	public void rebuildFilter() {
+		buildFilter();
+		rebuilds++;
+	}
+
+	//returns the filter in front of the map
+	@TimeComplexity("O(1)")
+	public BloomFilter<K> filter() {
+		return filter;
+	}
+
+	//returns number of get calls
+	@TimeComplexity("O(1)")
+	public long lookupCount() {
+		return lookups;
+	}
+
+	//returns number of get calls the filter answered without searching the map
+	@TimeComplexity("O(1)")
+	public long shortCircuitCount() {
+		return shortCircuits;
+	}
+
+	//returns number of get calls that passed the filter but found no entry
+	@TimeComplexity("O(1)")
+	public long falsePositiveCount() {
+		return falsePositives;
+	}
+
+	//returns number of times the filter was rebuilt
+	@TimeComplexity("O(1)")
+	public long rebuildCount() {
+		return rebuilds;
+	}
+
+	//clears the lookup, short circuit, false positive and rebuild counters
+	@TimeComplexity("O(1)")
+	public void resetStats() {
+		lookups = 0;
+		shortCircuits = 0;
+		falsePositives = 0;
+		rebuilds = 0;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return map.size();
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	//return value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//a key the filter rules out costs one block of the filter, any other key also the map's get
+
+		lookups++;
+		if (!filter.mightContain(key)) {
+			shortCircuits++;
+			return null;
+		}
+		V value = map.get(key);
+		if (value == null) {
+			falsePositives++;
+		}
+		return value;
+	}
+
+	//adds entry to map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		filter.add(key);
+		V old = map.put(key, value);
+		if (old == null) {
+			afterInsert();
+		}
+		return old;
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		if (!filter.mightContain(key)) {
+			return null;
+		}
+		V old = map.remove(key);
+		if (old != null) {
+			afterRemove();
+		}
+		return old;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value; an absent key the filter rules out isn't searched for
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//uses the map's own compute when it has one, so the key is searched once
+
+		if (!filter.mightContain(key)) {
+			V value = remapping.apply(key, null);
+			if (value != null) {
+				put(key, value);
+			}
+			return value;
+		}
+		int oldSize = map.size();
+		V value;
+		if (map instanceof AbstractMap) {
+			value = ((AbstractMap<K,V>) map).compute(key, remapping);
+		}
+		else {
+			V old = map.get(key);
+			value = remapping.apply(key, old);
+			if (value != null) {
+				map.put(key, value);
+			}
+			else if (old != null) {
+				map.remove(key);
+			}
+		}
+		if (map.size() < oldSize) {
+			afterRemove();
+		}
+		else if (map.size() > oldSize) {
+			//a key that passed the filter may still have been absent, its bits are set already
+			afterInsert();
+		}
+		return value;
+	}
+
+	//returns iterable collection of the wrapped map's entries
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return map.entrySet();
+	}
+
+}
@@ -0,0 +1,48 @@
+package cs2321;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Turns keys or values into bytes and back, for maps that store them outside the Java heap.
+ * The encoding must be canonical: two keys are equal exactly when their encodings are, since
+ * off heap maps hash and compare the encoded bytes instead of calling hashCode and equals.
+ */
+
+public interface Codec<T> {
+
+	//returns the bytes of value
+	byte[] encode(T value);
+
+	//returns the value whose encoding is the length bytes of buffer starting at offset,
+	//without moving the buffer's position
+	T decode(ByteBuffer buffer, int offset, int length);
+
+	//UTF-8 strings
+	static Codec<String> string() {
+		return new Codec<String>() {
+			public byte[] encode(String value) {
+				return value.getBytes(StandardCharsets.UTF_8);
+			}
+
+			public String decode(ByteBuffer buffer, int offset, int length) {
+				byte[] bytes = new byte[length];
+				buffer.get(offset, bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			}
+		};
+	}
+
+	//Integers as 4 big endian bytes
+	static Codec<Integer> integer() {
+		return new Codec<Integer>() {
+			public byte[] encode(Integer value) {
+				return ByteBuffer.allocate(4).putInt(value).array();
+			}
+
+			public Integer decode(ByteBuffer buffer, int offset, int length) {
+				return buffer.getInt(offset);
+			}
+		};
+	}
+}
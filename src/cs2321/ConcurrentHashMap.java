@@ -0,0 +1,402 @@
+package cs2321;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.concurrent.locks.ReentrantLock;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Thread safe hash map striped into independently locked segments.
+ * Each segment is a small chained hash table laid out like HashMap. Writers lock only
+ * the segment owning the key, readers never lock, and every segment resizes on its own
+ * while readers keep using the old table.
+ */
+
+public class ConcurrentHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//nested classes
+	//
+
+	//chain node, key and hash never change and value/next are volatile so readers see writes without locking
+	static final class HashEntry<K,V> implements Entry<K,V> {
+		final K key;
+		final int hash;
+		volatile V value;
+		volatile HashEntry<K,V> next;
+
+		HashEntry(K key, int hash, V value, HashEntry<K,V> next) {
+			this.key = key;
+			this.hash = hash;
+			this.value = value;
+			this.next = next;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+
+	//one lock stripe, a chained hash table guarded by its own lock
+	static final class Segment<K,V> extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		volatile AtomicReferenceArray<HashEntry<K,V>> table;
+		volatile int count; //written under the lock, read without it
+		int threshold;
+		double loadfactor;
+
+		Segment(int capacity, double loadfactor) {
+			this.loadfactor = loadfactor;
+			setTable(new AtomicReferenceArray<>(capacity));
+		}
+
+		private void setTable(AtomicReferenceArray<HashEntry<K,V>> tab) {
+			threshold = (int) (tab.length() * loadfactor);
+			table = tab;
+		}
+
+		//lock free lookup, sees the table as of the last completed write
+		@TimeComplexity("O(n)")
+		@TimeComplexityExpected("O(1)")
+		V get(K key, int hash) {
+			AtomicReferenceArray<HashEntry<K,V>> tab = table;
+			HashEntry<K,V> e = tab.get(hash & (tab.length() - 1));
+			while (e != null) {
+				if (e.hash == hash && key.equals(e.key)) {
+					return e.value;
+				}
+				e = e.next;
+			}
+			return null;
+		}
+
+		@TimeComplexity("O(n)")
+		@TimeComplexityExpected("O(1)")
+		V put(K key, int hash, V value) {
+			lock();
+			try {
+				AtomicReferenceArray<HashEntry<K,V>> tab = table;
+				int i = hash & (tab.length() - 1);
+				HashEntry<K,V> first = tab.get(i);
+				for (HashEntry<K,V> e = first; e != null; e = e.next) {
+					if (e.hash == hash && key.equals(e.key)) {
+						V old = e.value;
+						e.value = value;
+						return old;
+					}
+				}
+				tab.set(i, new HashEntry<>(key, hash, value, first));
+				count = count + 1;
+				if (count > threshold) {
+					rehash();
+				}
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		@TimeComplexity("O(n)")
+		@TimeComplexityExpected("O(1)")
+		V remove(K key, int hash) {
+			lock();
+			try {
+				AtomicReferenceArray<HashEntry<K,V>> tab = table;
+				int i = hash & (tab.length() - 1);
+				HashEntry<K,V> pred = null;
+				for (HashEntry<K,V> e = tab.get(i); e != null; pred = e, e = e.next) {
+					if (e.hash == hash && key.equals(e.key)) {
+						//readers already on e still follow e.next to the rest of the chain
+						if (pred == null) {
+							tab.set(i, e.next);
+						}
+						else {
+							pred.next = e.next;
+						}
+						count = count - 1;
+						return e.value;
+					}
+				}
+				return null;
+			} finally {
+				unlock();
+			}
+		}
+
+		//runs remapping on the current value and stores the result, all under the lock
+		@TimeComplexity("O(n)")
+		@TimeComplexityExpected("O(1)")
+		V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remapping) {
+			lock();
+			try {
+				AtomicReferenceArray<HashEntry<K,V>> tab = table;
+				int i = hash & (tab.length() - 1);
+				HashEntry<K,V> pred = null;
+				HashEntry<K,V> e = tab.get(i);
+				while (e != null && !(e.hash == hash && key.equals(e.key))) {
+					pred = e;
+					e = e.next;
+				}
+				V value = remapping.apply(key, (e == null) ? null : e.value);
+				if (e != null && value != null) {
+					e.value = value;
+				}
+				else if (e != null) {
+					if (pred == null) {
+						tab.set(i, e.next);
+					}
+					else {
+						pred.next = e.next;
+					}
+					count = count - 1;
+				}
+				else if (value != null) {
+					tab.set(i, new HashEntry<>(key, hash, value, tab.get(i)));
+					count = count + 1;
+					if (count > threshold) {
+						rehash();
+					}
+				}
+				return value;
+			} finally {
+				unlock();
+			}
+		}
+
+		//doubles the segment table, called with the lock held, unless it is already MAXIMUM_CAPACITY
+		//nodes are copied so readers still walking the old table are unaffected
+		@TimeComplexity("O(n)")
+		private void rehash() {
+			AtomicReferenceArray<HashEntry<K,V>> oldTab = table;
+			if (oldTab.length() >= MAXIMUM_CAPACITY) {
+				//a segment this large can't double, its chains just get longer
+				threshold = Integer.MAX_VALUE;
+				return;
+			}
+			AtomicReferenceArray<HashEntry<K,V>> newTab = new AtomicReferenceArray<>(oldTab.length() * 2);
+			int mask = newTab.length() - 1;
+			for (int n = 0; n < oldTab.length(); n++) {
+				for (HashEntry<K,V> e = oldTab.get(n); e != null; e = e.next) {
+					int i = e.hash & mask;
+					newTab.set(i, new HashEntry<>(e.key, e.hash, e.value, newTab.get(i)));
+				}
+			}
+			setTable(newTab);
+		}
+	}
+
+	//vars
+	//
+	private final Segment<K,V>[] segments;
+	private final int segmentShift;
+	static final int MAXIMUM_CAPACITY = 1 << 30; //largest power of two an int sized table can have
+	static final int MAX_SEGMENTS = 1 << 16; //concurrency levels above this share segments
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//instantiate with default capacity and concurrency level
+	public ConcurrentHashMap() {
+		this(16, 16);
+	}
+
+	//instantiate with given total capacity and default concurrency level
+	public ConcurrentHashMap(int hashtablesize) {
+		this(hashtablesize, 16);
+	}
+
+	//instantiate with given total capacity, split over at least concurrencyLevel segments
+	@SuppressWarnings("unchecked")
+	public ConcurrentHashMap(int hashtablesize, int concurrencyLevel) {
+		if (hashtablesize < 0 || concurrencyLevel <= 0) {
+			throw new IllegalArgumentException("Illegal table size or concurrency level");
+		}
+		int ssize = tableSizeFor(Math.min(concurrencyLevel, MAX_SEGMENTS));
+		segmentShift = 32 - Integer.numberOfTrailingZeros(ssize);
+		//each segment gets its share of the total, rounded up, and never less than 2 buckets
+		int total = Math.min(hashtablesize, MAXIMUM_CAPACITY);
+		int cap = Math.max(2, tableSizeFor(total / ssize + (total % ssize == 0 ? 0 : 1)));
+		segments = (Segment<K,V>[]) new Segment[ssize];
+		for (int n = 0; n < ssize; n++) {
+			segments[n] = new Segment<>(cap, loadfactor);
+		}
+	}
+
+	//utility
+	//
+
+	//round given size up to the next power of two, at most MAXIMUM_CAPACITY
+	private static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	//spreads the key's hash code so both the high bits (segment) and low bits (bucket) vary
+	private int hash(K key) {
+		int h = key.hashCode();
+		h += (h << 15) ^ 0xffffcd7d;
+		h ^= (h >>> 10);
+		h += (h << 3);
+		h ^= (h >>> 6);
+		h += (h << 2) + (h << 14);
+		return h ^ (h >>> 16);
+	}
+
+	//returns segment owning the given hash
+	private Segment<K,V> segmentFor(int hash) {
+		return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+	}
+
+	//functions
+	//
+
+	//return number of segments
+	@TimeComplexity("O(1)")
+	public int concurrencyLevel() {
+		return segments.length;
+	}
+
+	//return number of elements in map, summed from the segments without locking
+	//the result is exact when no writes are in progress
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		//the number of segments is fixed at construction
+
+		long sum = 0;
+		for (Segment<K,V> s : segments) {
+			sum += s.count;
+		}
+		return (int) Math.min(sum, Integer.MAX_VALUE);
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		for (Segment<K,V> s : segments) {
+			if (s.count != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//return value associated with given key or null if no entry found, never blocks
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		int hash = hash(key);
+		return segmentFor(hash).get(key, hash);
+	}
+
+	//adds entry to map, returns value of entry overridden or null if new insertion
+	//only the owning segment is locked
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		int hash = hash(key);
+		return segmentFor(hash).put(key, hash, value);
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	//only the owning segment is locked
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		int hash = hash(key);
+		return segmentFor(hash).remove(key, hash);
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value; the whole read-modify-write is atomic because the owning segment
+	//stays locked while remapping runs, so remapping must not touch this map
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		int hash = hash(key);
+		return segmentFor(hash).compute(key, hash, remapping);
+	}
+
+	//weakly consistent iterator, walks each segment's table as it was when the segment was reached
+	//never throws ConcurrentModificationException
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int segmentIndex = 0;
+		private int bucketIndex = 0;
+		private AtomicReferenceArray<HashEntry<K,V>> tab = null;
+		private HashEntry<K,V> nextEntry = null;
+
+		public EntryIterator() {
+			advance();
+		}
+
+		//moves nextEntry to the next entry, or null once every segment is done
+		private void advance() {
+			if (nextEntry != null) {
+				nextEntry = nextEntry.next;
+			}
+			while (nextEntry == null) {
+				if (tab != null && bucketIndex < tab.length()) {
+					nextEntry = tab.get(bucketIndex++);
+				}
+				else if (segmentIndex < segments.length) {
+					tab = segments[segmentIndex++].table;
+					bucketIndex = 0;
+				}
+				else {
+					return;
+				}
+			}
+		}
+
+		public boolean hasNext() {
+			return nextEntry != null;
+		}
+
+		public Entry<K,V> next(){
+			if (nextEntry == null) {
+				throw new NoSuchElementException();
+			}
+			Entry<K,V> answer = nextEntry;
+			advance();
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns weakly consistent iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
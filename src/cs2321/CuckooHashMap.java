@@ -0,0 +1,550 @@
+package cs2321;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Cuckoo hash map: every key can only live in one of two buckets of 4 slots, picked by two
+ * independent hash functions, or in a small stash. A lookup therefore checks at most
+ * 2 * 4 + 4 slots no matter how full the table is or how keys collide.
+ * Inserting into two full buckets kicks a resident out to its other bucket, which may kick
+ * another, and so on; a walk that runs too long leaves the last homeless entry in the stash,
+ * and once the stash is full the table is rebuilt with new hash functions (and doubled if it
+ * is at least half full). Keys, values and hashes sit in flat arrays like ProbeHashMap, with
+ * the stash in the last STASH slots.
+ * Since both buckets come from the key's hash code, at most 2 * 4 + 4 keys with one hash code
+ * fit in the table. Keys that can't be placed even in a nearly empty table, like a flood of
+ * Strings built to share a hash code, go to an overflow HashMap checked after the stash, whose
+ * tree buckets keep such keys searchable in O(lg n).
+ */
+
+public class CuckooHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	static final int SLOTS = 4; //slots per bucket
+	static final int STASH = 4; //slots for entries no bucket has room for
+	static final int MAX_KICKS = 256; //displacements tried before an entry goes to the stash
+	static final int MAXIMUM_BUCKETS = (1 << 30) / SLOTS; //keeps the slot arrays within the largest power of two an int can index
+
+	private K[] keys; //null marks an empty slot
+	private V[] values;
+	private int[] hashes; //mixed hash code of the key in the same slot, the bucket hashes derive from it
+	int 	size;  // number of mappings(entries)
+	int 	buckets; // number of buckets, always a power of two
+	double  loadfactor = 0.9; //4 slot buckets stay insertable well past this
+	private int seed1;
+	private int seed2;
+	private int random; //xorshift state for picking which resident to kick
+	private int[] path = new int[MAX_KICKS]; //slots the last place call kicked a resident out of
+	private int pathLength;
+	private HashMap<K,V> overflow = null; //keys no table could place, null while there are none
+
+	//constructors
+	//
+
+	//instantiate with default capacity
+	public CuckooHashMap() {
+		this(16);
+	}
+
+	//instantiate with room for at least the given number of slots
+	public CuckooHashMap(int hashtablesize) {
+		buckets = bucketsFor(hashtablesize);
+		random = ThreadLocalRandom.current().nextInt() | 1;
+		createTable();
+	}
+
+	//utility
+	//
+
+	//number of buckets holding at least n slots, a power of two from 2 to MAXIMUM_BUCKETS
+	private static int bucketsFor(int n) {
+		int b = n / SLOTS + ((n % SLOTS == 0) ? 0 : 1);
+		if (b >= MAXIMUM_BUCKETS) {
+			return MAXIMUM_BUCKETS;
+		}
+		return (b <= 2) ? 2 : Integer.highestOneBit(b - 1) << 1;
+	}
+
+	//instantiates the flat arrays for the current number of buckets plus the stash, with new hash functions
+	@SuppressWarnings("unchecked")
+	private void createTable() {
+		int length = buckets * SLOTS + STASH;
+		keys = (K[]) new Object[length];
+		values = (V[]) new Object[length];
+		hashes = new int[length];
+		seed1 = ThreadLocalRandom.current().nextInt();
+		seed2 = ThreadLocalRandom.current().nextInt();
+	}
+
+	//returns the hash code of key mixed so every bit affects the bucket hashes
+	private int hash(K key) {
+		return HashStrategy.mix(key.hashCode());
+	}
+
+	//returns first bucket of a hash
+	private int bucket1(int h) {
+		return HashStrategy.mix(h ^ seed1) & (buckets - 1);
+	}
+
+	//returns second bucket of a hash, always different from the first
+	private int bucket2(int h) {
+		int b1 = bucket1(h);
+		int b2 = HashStrategy.mix(h ^ seed2) & (buckets - 1);
+		return (b2 == b1) ? (b1 ^ 1) : b2;
+	}
+
+	//returns the bucket of h other than b
+	private int alternate(int h, int b) {
+		int b1 = bucket1(h);
+		return (b == b1) ? bucket2(h) : b1;
+	}
+
+	//returns the next pseudo random number, only used to spread kicks over a bucket's slots
+	private int nextRandom() {
+		random ^= random << 13;
+		random ^= random >>> 17;
+		random ^= random << 5;
+		return random;
+	}
+
+	//return slot holding given key or -1 if key not found
+	@TimeComplexity("O(1)")
+	private int findSlot(K key, int h) {
+		//two buckets and the stash, 12 slots at most
+
+		int j = bucket1(h) * SLOTS;
+		for (int s = 0; s < SLOTS; s++, j++) {
+			if (keys[j] != null && hashes[j] == h && keys[j].equals(key)) {
+				return j;
+			}
+		}
+		j = bucket2(h) * SLOTS;
+		for (int s = 0; s < SLOTS; s++, j++) {
+			if (keys[j] != null && hashes[j] == h && keys[j].equals(key)) {
+				return j;
+			}
+		}
+		for (j = buckets * SLOTS; j < keys.length; j++) {
+			if (keys[j] != null && hashes[j] == h && keys[j].equals(key)) {
+				return j;
+			}
+		}
+		return -1;
+	}
+
+	//stores the entry in a free slot of bucket b, returns false if the bucket is full
+	@TimeComplexity("O(1)")
+	private boolean placeInBucket(int b, K key, V value, int h) {
+		int j = b * SLOTS;
+		for (int s = 0; s < SLOTS; s++, j++) {
+			if (keys[j] == null) {
+				keys[j] = key;
+				values[j] = value;
+				hashes[j] = h;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//places a key that is known to be absent, kicking residents to their other bucket as needed
+	//returns null, or the entry left without a slot when both the walk and the stash failed
+	@TimeComplexity("O(1)")
+	private mapEntry<K,V> place(K key, V value, int h) {
+		//at most MAX_KICKS displacements, each touching two buckets
+
+		int b = bucket1(h);
+		if (placeInBucket(b, key, value, h) || placeInBucket(bucket2(h), key, value, h)) {
+			return null;
+		}
+		if ((nextRandom() & 1) == 0) {
+			b = bucket2(h);
+		}
+		pathLength = 0;
+		for (int kick = 0; kick < MAX_KICKS; kick++) {
+			//swap the entry in hand with a random resident of b, then try the resident's other bucket
+			int j = b * SLOTS + (nextRandom() & (SLOTS - 1));
+			path[pathLength++] = j;
+			K k = keys[j];
+			V v = values[j];
+			int kh = hashes[j];
+			keys[j] = key;
+			values[j] = value;
+			hashes[j] = h;
+			key = k;
+			value = v;
+			h = kh;
+			b = alternate(h, b);
+			if (placeInBucket(b, key, value, h)) {
+				return null;
+			}
+		}
+		for (int j = buckets * SLOTS; j < keys.length; j++) {
+			if (keys[j] == null) {
+				keys[j] = key;
+				values[j] = value;
+				hashes[j] = h;
+				return null;
+			}
+		}
+		return new mapEntry<>(key, value, h);
+	}
+
+	//undoes the kicks out of the given slots by a place call that returned homeless,
+	//leaving the table as it was before
+	@TimeComplexity("O(1)")
+	private void unwind(mapEntry<K,V> homeless, int[] kicked) {
+		K key = homeless.key;
+		V value = homeless.value;
+		int h = homeless.hash;
+		for (int i = kicked.length - 1; i >= 0; i--) {
+			int j = kicked[i];
+			K k = keys[j];
+			V v = values[j];
+			int kh = hashes[j];
+			keys[j] = key;
+			values[j] = value;
+			hashes[j] = h;
+			key = k;
+			value = v;
+			h = kh;
+		}
+	}
+
+	//returns true if every slot a key with hash h could use holds a key with that same hash
+	@TimeComplexity("O(1)")
+	private boolean slotsTaken(int h) {
+		int taken = 0;
+		int j = bucket1(h) * SLOTS;
+		for (int s = 0; s < SLOTS; s++, j++) {
+			taken += (keys[j] != null && hashes[j] == h) ? 1 : 0;
+		}
+		j = bucket2(h) * SLOTS;
+		for (int s = 0; s < SLOTS; s++, j++) {
+			taken += (keys[j] != null && hashes[j] == h) ? 1 : 0;
+		}
+		for (j = buckets * SLOTS; j < keys.length; j++) {
+			taken += (keys[j] != null && hashes[j] == h) ? 1 : 0;
+		}
+		return taken == 2 * SLOTS + STASH;
+	}
+
+	//inserts a key that is known to be absent, rebuilding the table until it fits
+	//a key too many others share the hash code of goes to the overflow map instead
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void insert(K key, V value, int h) {
+		//a key whose every possible slot already holds its hash code goes straight to the overflow
+		//map, so a flood of such keys costs a tree insert each rather than a failed rebuild each
+
+		if (slotsTaken(h)) {
+			overflowPut(key, value);
+			return;
+		}
+		mapEntry<K,V> homeless = place(key, value, h);
+		if (homeless != null) {
+			//a cycle: new hash functions break it, a table at least half full also grows
+			int cap = (size >= buckets * SLOTS / 2 && buckets < MAXIMUM_BUCKETS) ? 2 * buckets : buckets;
+			int[] kicked = Arrays.copyOf(path, pathLength);
+			if (!rebuild(cap, homeless)) {
+				unwind(homeless, kicked);
+				overflowPut(key, value);
+			}
+		}
+	}
+
+	//puts a key the table can't place into the overflow map
+	@TimeComplexity("O(lg n)")
+	private void overflowPut(K key, V value) {
+		if (overflow == null) {
+			overflow = new HashMap<>();
+		}
+		overflow.put(key, value);
+	}
+
+	//removes key from the overflow map, dropping the map once it is empty
+	//returns value of removed entry or null if no entry found
+	@TimeComplexity("O(lg n)")
+	private V overflowRemove(K key) {
+		if (overflow == null) {
+			return null;
+		}
+		V answer = overflow.remove(key);
+		if (overflow.isEmpty()) {
+			overflow = null;
+		}
+		return answer;
+	}
+
+	//reinserts every entry, plus extra if not null, into a table of cap buckets with new hash functions
+	//grows the table again for as long as some entry still doesn't fit
+	//returns false, leaving the table as it was, if entries collide even in a nearly empty table
+	@TimeComplexity("O(n)")
+	private boolean rebuild(int cap, mapEntry<K,V> extra) {
+		//a cycle at a load factor below 0.9 is rare, so the expected number of attempts is constant
+
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		int[] oldHashes = hashes;
+		int oldBuckets = buckets;
+		int oldSeed1 = seed1;
+		int oldSeed2 = seed2;
+		while (true) {
+			buckets = cap;
+			createTable();
+			mapEntry<K,V> homeless = (extra == null) ? null : place(extra.key, extra.value, extra.hash);
+			for (int j = 0; homeless == null && j < oldKeys.length; j++) {
+				if (oldKeys[j] != null) {
+					homeless = place(oldKeys[j], oldValues[j], oldHashes[j]);
+				}
+			}
+			if (homeless == null) {
+				return true;
+			}
+			if ((long) cap * SLOTS > 16L * (size + 1) + 64 || cap >= MAXIMUM_BUCKETS) {
+				//both buckets of a key come from its hash code, so more than 2 * SLOTS + STASH keys
+				//with one hash code can't be placed however large the table gets
+				//and a table of MAXIMUM_BUCKETS can't grow at all
+				keys = oldKeys;
+				values = oldValues;
+				hashes = oldHashes;
+				buckets = oldBuckets;
+				seed1 = oldSeed1;
+				seed2 = oldSeed2;
+				return false;
+			}
+			cap = 2 * cap;
+		}
+	}
+
+	//moves stash entries whose buckets have room back into the table
+	@TimeComplexity("O(1)")
+	private void drainStash() {
+		for (int j = buckets * SLOTS; j < keys.length; j++) {
+			if (keys[j] != null) {
+				K key = keys[j];
+				V value = values[j];
+				int h = hashes[j];
+				keys[j] = null;
+				values[j] = null;
+				hashes[j] = 0;
+				if (!placeInBucket(bucket1(h), key, value, h) && !placeInBucket(bucket2(h), key, value, h)) {
+					keys[j] = key;
+					values[j] = value;
+					hashes[j] = h;
+				}
+			}
+		}
+	}
+
+	//empties slot j
+	@TimeComplexity("O(1)")
+	private void deleteSlot(int j) {
+		keys[j] = null;
+		values[j] = null;
+		hashes[j] = 0;
+		if (j < buckets * SLOTS) {
+			//the freed slot may be the only room a stashed entry can go back to
+			drainStash();
+		}
+	}
+
+	//functions
+	//
+
+	//return total number of slots, stash included
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return keys.length;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(lg n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//calls findSlot, which checks at most 12 slots however full the table is;
+		//the overflow map only exists once keys shared hash codes beyond what the table holds
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			return (overflow == null) ? null : overflow.get(key);
+		}
+		return values[j];
+	}
+
+	//adds entry to hash map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//calls findSlot and insert; a rebuild is O(n) but happens on growth or on a rare cycle
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		if (j != -1) {
+			V old = values[j];
+			values[j] = value;
+			return old;
+		}
+		if (overflow != null) {
+			//a null value reads the same as no entry, so presence is told by whether the size changed
+			int before = overflow.size();
+			V old = overflow.put(key, value);
+			if (overflow.size() == before) {
+				return old;
+			}
+			overflowRemove(key);
+		}
+		if (size + 1 > buckets * SLOTS * loadfactor && buckets < MAXIMUM_BUCKETS) {
+			rebuild(2 * buckets, null);
+		}
+		insert(key, value, h);
+		size++;
+		return null;
+	}
+
+	//removes entry from hash map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(lg n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//calls findSlot and deleteSlot, both touch a constant number of slots
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			int before = (overflow == null) ? 0 : overflow.size();
+			V answer = overflowRemove(key);
+			if (((overflow == null) ? 0 : overflow.size()) < before) {
+				size--;
+			}
+			return answer;
+		}
+		V answer = values[j];
+		deleteSlot(j);
+		size--;
+		return answer;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//hashes the key and calls findSlot once, then at most one insert or deleteSlot
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		if (j == -1 && overflow != null) {
+			//the overflow map runs remapping once whether or not it holds the key, its size tells which
+			int before = overflow.size();
+			V value = overflow.compute(key, remapping);
+			if (overflow.size() < before) {
+				overflowRemove(key);
+				size--;
+			}
+			else if (overflow.size() > before) {
+				//a new key, it belongs in the table
+				overflowRemove(key);
+				if (size + 1 > buckets * SLOTS * loadfactor && buckets < MAXIMUM_BUCKETS) {
+					rebuild(2 * buckets, null);
+				}
+				insert(key, value, h);
+				size++;
+			}
+			return value;
+		}
+		V value = remapping.apply(key, (j == -1) ? null : values[j]);
+		if (j != -1 && value != null) {
+			values[j] = value;
+		}
+		else if (j != -1) {
+			deleteSlot(j);
+			size--;
+		}
+		else if (value != null) {
+			if (size + 1 > buckets * SLOTS * loadfactor && buckets < MAXIMUM_BUCKETS) {
+				rebuild(2 * buckets, null);
+			}
+			insert(key, value, h);
+			size++;
+		}
+		return value;
+	}
+
+	//private class for iterator, builds each entry from the flat arrays as it is reached,
+	//then walks the overflow map
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = advance(0);
+		private Iterator<Entry<K,V>> rest = (overflow == null) ? null : overflow.entrySet().iterator();
+
+		//return index of next occupied slot at or after n
+		private int advance(int n) {
+			while (n < keys.length && keys[n] == null) {
+				n++;
+			}
+			return n;
+		}
+
+		public boolean hasNext() {
+			return j < keys.length || (rest != null && rest.hasNext());
+		}
+
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (j >= keys.length) {
+				return rest.next();
+			}
+			Entry<K,V> answer = new mapEntry<>(keys[j], values[j]);
+			j = advance(j + 1);
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//iteration walks every slot of the table and the stash once
+
+		return new EntryIterable();
+	}
+
+}
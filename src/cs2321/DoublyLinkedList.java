@@ -1,5 +1,9 @@
 package cs2321;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import net.datastructures.Position;
 import net.datastructures.PositionalList;
@@ -249,6 +253,22 @@ public class DoublyLinkedList<E> implements PositionalList<E>, Iterable<E> {
 		return answer;
 	}
 
+	// Move given node to end of DoublyLinkedList, relinking it instead of allocating a new node
+	// p: given node
+	public void moveLast(Position<E> p) throws IllegalArgumentException {
+		Node<E> node = validate(p);
+		if (node == tail.getPrev()) {
+			return;
+		}
+		node.getPrev().setNext(node.getNext());
+		node.getNext().setPrev(node.getPrev());
+		Node<E> last = tail.getPrev();
+		node.setPrev(last);
+		node.setNext(tail);
+		last.setNext(node);
+		tail.setPrev(node);
+	}
+
 	// Remove first node in DoublyLinkedList
 		public E removeFirst() throws IllegalArgumentException {
 			return remove(head.getNext());
@@ -265,6 +285,23 @@ public class DoublyLinkedList<E> implements PositionalList<E>, Iterable<E> {
 		return new ElementIterator();
 	}
 
+	// Returns spliterator over the elements
+	// Nodes can't be indexed, so splits copy the next batch of elements into an array
+	@Override
+	public Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+	}
+	
+	// Returns sequential stream of the elements
+	public Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	// Returns parallel stream of the elements
+	public Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 	// Returns doubly linked list iterable
 	@Override
 	public Iterable<Position<E>> positions() {
@@ -0,0 +1,13 @@
+package cs2321;
+
+/*
+ * Told about every entry a cache drops on its own, to stay under its maximum or because it expired.
+ * Entries removed with remove() or replaced with put() are not reported.
+ */
+
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+	//called after the entry has been removed from the cache
+	void onEviction(K key, V value);
+}
@@ -0,0 +1,391 @@
+package cs2321;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import net.datastructures.*;
+
+/*
+ * Cache whose entries expire a fixed time after they were written, or after they were last read.
+ * Every entry is filed in a hierarchical timer wheel by its expiry time: each level is a ring of
+ * DoublyLinkedList buckets, the finest covering about a second per bucket and each coarser one
+ * covering a range of the level below. As time passes only the buckets the clock moved over are
+ * visited; their entries are either expired or refiled into a finer level, so each entry is
+ * handled O(1) times amortized and no operation ever scans the whole table.
+ */
+
+public class ExpiringCache<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//nested classes
+	//
+
+	//what restarts an entry's lifetime
+	public enum Expiry {AFTER_WRITE, AFTER_ACCESS}
+
+	//cached entry, remembers the wheel bucket it is filed in so it can be unfiled without a search
+	static class Node<K,V> extends mapEntry<K,V> {
+		long expiresAt; //ticker time at which the entry stops being visible
+		DoublyLinkedList<Node<K,V>> bucket;
+		Position<Node<K,V>> position;
+
+		Node(K key, V value) {
+			super(key, value);
+		}
+	}
+
+	//vars
+	//
+
+	//time covered by one bucket of each level, powers of two nanoseconds (about 1.07s, 1.14m, 1.22h, 19.5h, 13d)
+	static final long[] SPANS = {1L << 30, 1L << 36, 1L << 42, 1L << 46, 1L << 50};
+	//number of buckets of each level, a level's buckets together cover one bucket of the next level
+	static final int[] BUCKETS = {64, 64, 16, 16, 1};
+	//longest lifetime, keeps expiry times from overflowing
+	static final long MAX_DURATION = Long.MAX_VALUE >>> 1;
+
+	private HashMap<K, Node<K,V>> data;
+	private DoublyLinkedList<Node<K,V>>[][] wheel;
+	private long nanos; //time the wheel was last advanced to
+	private final long duration;
+	private final Expiry expiry;
+	private final Ticker ticker;
+	private EvictionListener<? super K, ? super V> listener; //null if nobody listens
+	private long hits = 0;
+	private long misses = 0;
+	private long expirations = 0;
+
+	//constructors
+	//
+
+	//instantiate expiring entries the given time after they were written or read, on the system clock
+	public ExpiringCache(long duration, TimeUnit unit, Expiry expiry) {
+		this(duration, unit, expiry, Ticker.system());
+	}
+
+	//instantiate expiring entries the given time after they were written or read, on the given clock
+	@SuppressWarnings("unchecked")
+	public ExpiringCache(long duration, TimeUnit unit, Expiry expiry, Ticker ticker) {
+		if (duration < 0) {
+			throw new IllegalArgumentException("duration must not be negative");
+		}
+		this.duration = Math.min(unit.toNanos(duration), MAX_DURATION);
+		this.expiry = expiry;
+		this.ticker = ticker;
+		data = new HashMap<>(16);
+		wheel = (DoublyLinkedList<Node<K,V>>[][]) new DoublyLinkedList[BUCKETS.length][];
+		for (int i = 0; i < BUCKETS.length; i++) {
+			wheel[i] = (DoublyLinkedList<Node<K,V>>[]) new DoublyLinkedList[BUCKETS[i]];
+			for (int j = 0; j < BUCKETS[i]; j++) {
+				wheel[i][j] = new DoublyLinkedList<>();
+			}
+		}
+		nanos = ticker.read();
+	}
+
+	//utility
+	//
+
+	//returns true if node has expired at time now
+	private static boolean expired(Node<?,?> node, long now) {
+		return node.expiresAt - now <= 0;
+	}
+
+	//files node in the finest level whose range reaches its expiry time
+	@TimeComplexity("O(1)")
+	private void schedule(Node<K,V> node) {
+		long delay = node.expiresAt - nanos;
+		int level = 0;
+		while (level < SPANS.length - 1 && delay >= SPANS[level + 1]) {
+			level++;
+		}
+		int shift = Long.numberOfTrailingZeros(SPANS[level]);
+		int index = (int) (node.expiresAt >>> shift) & (BUCKETS[level] - 1);
+		node.bucket = wheel[level][index];
+		node.position = node.bucket.addLast(node);
+	}
+
+	//takes node out of the wheel
+	@TimeComplexity("O(1)")
+	private void deschedule(Node<K,V> node) {
+		if (node.bucket != null) {
+			node.bucket.remove(node.position);
+			node.bucket = null;
+			node.position = null;
+		}
+	}
+
+	//moves the wheel to time now, expiring entries that are due and refiling the rest of
+	//every bucket the clock passed
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void advance(long now) {
+		//each level visits at most its own number of buckets, and an entry is refiled at most
+		//once per level before it expires, so the work is O(1) amortized per entry
+
+		long previous = nanos;
+		nanos = now;
+		for (int level = 0; level < SPANS.length; level++) {
+			int shift = Long.numberOfTrailingZeros(SPANS[level]);
+			long previousTicks = previous >>> shift;
+			long currentTicks = now >>> shift;
+			if (currentTicks - previousTicks <= 0) {
+				//coarser levels only move when this one wraps around
+				break;
+			}
+			int mask = BUCKETS[level] - 1;
+			long steps = Math.min(1 + currentTicks - previousTicks, BUCKETS[level]);
+			for (long tick = previousTicks; tick < previousTicks + steps; tick++) {
+				int index = (int) tick & mask;
+				DoublyLinkedList<Node<K,V>> bucket = wheel[level][index];
+				//swap in an empty bucket first so refiled entries can't land in the one being drained
+				wheel[level][index] = new DoublyLinkedList<>();
+				while (!bucket.isEmpty()) {
+					Node<K,V> node = bucket.removeFirst();
+					node.bucket = null;
+					node.position = null;
+					if (expired(node, now)) {
+						expire(node);
+					}
+					else {
+						schedule(node);
+					}
+				}
+			}
+		}
+	}
+
+	//drops an expired node from the cache
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void expire(Node<K,V> node) {
+		deschedule(node);
+		data.remove(node.key);
+		expirations++;
+		if (listener != null) {
+			listener.onEviction(node.key, node.value);
+		}
+	}
+
+	//returns the live node for key at time now, expiring it first if it is past due
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private Node<K,V> liveNode(K key, long now) {
+		//entries due within the current bucket's span are still in the wheel, so check the time itself
+
+		Node<K,V> node = data.get(key);
+		if (node != null && expired(node, now)) {
+			expire(node);
+			return null;
+		}
+		return node;
+	}
+
+	//restarts node's lifetime at time now
+	@TimeComplexity("O(1)")
+	private void restart(Node<K,V> node, long now) {
+		deschedule(node);
+		node.expiresAt = now + duration;
+		schedule(node);
+	}
+
+	//functions
+	//
+
+	//sets who is told about expired entries, null for nobody
+	@TimeComplexity("O(1)")
+	public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+		this.listener = listener;
+	}
+
+	//returns what restarts an entry's lifetime
+	@TimeComplexity("O(1)")
+	public Expiry expiry() {
+		return expiry;
+	}
+
+	//expires every entry that is due according to the wheel, normally done by every operation
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public void cleanUp() {
+		advance(ticker.read());
+	}
+
+	//returns number of get calls that found a live entry
+	@TimeComplexity("O(1)")
+	public long hitCount() {
+		return hits;
+	}
+
+	//returns number of get calls that found no entry or an expired one
+	@TimeComplexity("O(1)")
+	public long missCount() {
+		return misses;
+	}
+
+	//returns number of entries dropped because they expired
+	@TimeComplexity("O(1)")
+	public long expirationCount() {
+		return expirations;
+	}
+
+	//returns fraction of get calls that were hits, 0 before the first get
+	@TimeComplexity("O(1)")
+	public double hitRate() {
+		long requests = hits + misses;
+		return (requests == 0) ? 0 : (double) hits / requests;
+	}
+
+	//clears the hit, miss and expiration counters
+	@TimeComplexity("O(1)")
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		expirations = 0;
+	}
+
+	//return number of elements in map, which can include entries that expired within the last second
+	//and haven't been reached by the wheel yet
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return data.size();
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return data.isEmpty();
+	}
+
+	//return value associated with given key or null if no live entry found
+	//in AFTER_ACCESS mode a hit restarts the entry's lifetime
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		long now = ticker.read();
+		advance(now);
+		Node<K,V> node = liveNode(key, now);
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		if (expiry == Expiry.AFTER_ACCESS) {
+			restart(node, now);
+		}
+		return node.value;
+	}
+
+	//adds entry to map and starts its lifetime, returns value of live entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		long now = ticker.read();
+		advance(now);
+		Node<K,V> node = liveNode(key, now);
+		V old = null;
+		if (node == null) {
+			node = new Node<>(key, value);
+			data.put(key, node);
+		}
+		else {
+			old = node.value;
+			node.value = value;
+		}
+		restart(node, now);
+		return old;
+	}
+
+	//removes entry from map, then return value of removed live entry or null if no live entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		long now = ticker.read();
+		advance(now);
+		Node<K,V> node = liveNode(key, now);
+		if (node == null) {
+			return null;
+		}
+		deschedule(node);
+		data.remove(key);
+		return node.value;
+	}
+
+	//stores the value remapping returns for key and its current live value, null removes the entry
+	//returns the new value; a stored value starts a new lifetime
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		long now = ticker.read();
+		advance(now);
+		Node<K,V> node = liveNode(key, now);
+		V value = remapping.apply(key, (node == null) ? null : node.value);
+		if (value == null) {
+			if (node != null) {
+				deschedule(node);
+				data.remove(key);
+			}
+			return null;
+		}
+		if (node == null) {
+			node = new Node<>(key, value);
+			data.put(key, node);
+		}
+		node.value = value;
+		restart(node, now);
+		return value;
+	}
+
+	//private class for iterator, walks the entries of the backing HashMap and skips expired ones
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private final long now = ticker.read();
+		private Iterator<Entry<K,Node<K,V>>> entries = data.entrySet().iterator();
+		private Node<K,V> nextNode = null;
+
+		public boolean hasNext() {
+			while (nextNode == null && entries.hasNext()) {
+				Node<K,V> node = entries.next().getValue();
+				if (!expired(node, now)) {
+					nextNode = node;
+				}
+			}
+			return nextNode != null;
+		}
+
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Entry<K,V> answer = nextNode;
+			nextNode = null;
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of the live entries, iterating doesn't expire anything or restart lifetimes
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
@@ -0,0 +1,112 @@
+package cs2321;
+
+/*
+ * Approximate count of how often each element was seen recently, in a fixed amount of memory.
+ * A count-min sketch of depth 4 with 4 bit counters packed 16 to a long: an element maps to one
+ * counter in each of 4 rows and its estimate is the smallest of them, which can overestimate
+ * after hash collisions but never underestimates. Counters stop at 15.
+ * After sampleSize increments every counter is halved, so old popularity fades and the sketch
+ * keeps following a changing workload.
+ */
+
+public class FrequencySketch<E> {
+
+	//vars
+	//
+	static final long RESET_MASK = 0x7777777777777777L; //clears the bit shifted in from the next counter
+	static final long ONE_MASK = 0x1111111111111111L; //low bit of every counter
+	static final int MAX_COUNT = 15;
+	static final int MAXIMUM_WIDTH = 1 << 26; //longs in the table at most, 512MiB, larger caches share counters
+
+	private long[] table; //each long holds 16 counters, row i uses counters 4i to 4i + 3
+	private int tableMask;
+	private int sampleSize; //increments between agings
+	private int size = 0; //increments since the last aging, minus what aging took off
+
+	//constructors
+	//
+
+	//instantiate sized for a cache of the given number of entries
+	public FrequencySketch(int maximumSize) {
+		int cap = (maximumSize <= 1) ? 1 : Integer.highestOneBit(Math.min(maximumSize, MAXIMUM_WIDTH) - 1) << 1;
+		table = new long[cap];
+		tableMask = cap - 1;
+		sampleSize = (maximumSize <= 0) ? 10 : (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+	}
+
+	//utility
+	//
+
+	//murmur3 finalizer so similar hash codes still spread over the table
+	private static int spread(int h) {
+		return HashStrategy.mix(h);
+	}
+
+	//returns the long holding the row i counter for a spread hash
+	private int indexOf(int hash, int i) {
+		long h = (hash + (long) i * 0x9E3779B97F4A7C15L) * 0x9E3779B97F4A7C15L;
+		h += h >>> 32;
+		return (int) h & tableMask;
+	}
+
+	//returns the bit offset of the row i counter within its long
+	private static int offsetOf(int hash, int i) {
+		return ((i << 2) + ((hash >>> (i << 3)) & 3)) << 2;
+	}
+
+	//halves every counter and the sample size
+	@TimeComplexity("O(n)")
+	private void age() {
+		//runs once every sampleSize increments, so it adds O(1) amortized to each increment
+
+		int odd = 0;
+		for (int j = 0; j < table.length; j++) {
+			odd += Long.bitCount(table[j] & ONE_MASK);
+			table[j] = (table[j] >>> 1) & RESET_MASK;
+		}
+		//each element added to 4 counters, halving rounds every odd counter down by a half
+		size = (size - (odd >>> 2)) >>> 1;
+	}
+
+	//functions
+	//
+
+	//returns the estimated number of times e was seen since it last aged, at most 15
+	@TimeComplexity("O(1)")
+	public int frequency(E e) {
+		int hash = spread(e.hashCode());
+		int frequency = MAX_COUNT;
+		for (int i = 0; i < 4; i++) {
+			int count = (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xfL);
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	//records one occurrence of e
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public void increment(E e) {
+		//four counter updates, plus the occasional aging pass
+
+		int hash = spread(e.hashCode());
+		boolean added = false;
+		for (int i = 0; i < 4; i++) {
+			int index = indexOf(hash, i);
+			int offset = offsetOf(hash, i);
+			if (((table[index] >>> offset) & 0xfL) != MAX_COUNT) {
+				table[index] += 1L << offset;
+				added = true;
+			}
+		}
+		if (added && ++size == sampleSize) {
+			age();
+		}
+	}
+
+	//returns the number of increments between agings
+	@TimeComplexity("O(1)")
+	public int sampleSize() {
+		return sampleSize;
+	}
+}
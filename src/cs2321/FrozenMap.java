@@ -0,0 +1,285 @@
+package cs2321;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Immutable map built once from another map, for dictionaries that are only read afterwards.
+ * Lookups go through a minimal perfect hash function built with hash and displace (CHD): keys
+ * are split into buckets of about LAMBDA keys by hash, and each bucket gets a seed that sends
+ * its keys to distinct free slots of an array exactly as long as the number of keys; buckets of
+ * one key just record their slot. A get hashes the key, reads its bucket's seed and compares
+ * the key in the one slot it leads to, so the only per entry cost beyond the flat key and value
+ * arrays is about 32 / LAMBDA bits of seed.
+ * Keys with the same hashCode can't be told apart by any seed, so all but one of each such
+ * group are kept in a small HashMap that is only checked when the slot holds another key.
+ * put, remove and compute throw UnsupportedOperationException.
+ */
+
+public class FrozenMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	static final int LAMBDA = 3; //average number of keys per bucket
+	static final int GOLDEN = 0x9E3779B9;
+
+	private final K[] keys; //the slot each key hashes to
+	private final V[] values;
+	private final int[] seeds; //per bucket: 0 if empty, seed if positive, -(slot + 1) for one key
+	private final HashMap<K,V> overflow; //keys whose hashCode another key already has, null if none
+
+	//constructors
+	//
+
+	//instantiate from slot arrays and seeds built by freeze
+	private FrozenMap(K[] keys, V[] values, int[] seeds, HashMap<K,V> overflow) {
+		this.keys = keys;
+		this.values = values;
+		this.seeds = seeds;
+		this.overflow = overflow;
+	}
+
+	//utility
+	//
+
+	//returns the hash code of key mixed so every bit affects the bucket and slot
+	private static int hash(Object key) {
+		return HashStrategy.mix(key.hashCode());
+	}
+
+	//maps h onto 0...n-1 by its high bits, without a division
+	private static int reduce(int h, int n) {
+		return (int) (((h & 0xFFFFFFFFL) * n) >>> 32);
+	}
+
+	//returns the slot a key with hash h goes to under a positive seed, in a table of n slots
+	private static int slot(int h, int seed, int n) {
+		return reduce(HashStrategy.mix(h ^ (seed * GOLDEN)), n);
+	}
+
+	//returns the slot a key with hash h was given
+	private int slotOf(int h) {
+		int seed = seeds[reduce(h, seeds.length)];
+		return (seed < 0) ? -seed - 1 : slot(h, seed, keys.length);
+	}
+
+	//functions
+	//
+
+	//returns an immutable copy of map
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n^2)")
+	@TimeComplexityExpected("O(n)")
+	public static <K, V> FrozenMap<K, V> freeze(Map<K, V> map) {
+		//buckets are placed largest first while most slots are free, so each expects a constant
+		//number of seeds; one key buckets go straight to the free slots left at the end
+
+		int m = map.size();
+		K[] allKeys = (K[]) new Object[m];
+		V[] allValues = (V[]) new Object[m];
+		int[] hashes = new int[m];
+		int buckets = Math.max(1, (m + LAMBDA - 1) / LAMBDA);
+		int[] start = new int[buckets + 1];
+		int n = 0;
+		for (Entry<K,V> e : map.entrySet()) {
+			allKeys[n] = e.getKey();
+			allValues[n] = e.getValue();
+			hashes[n] = hash(e.getKey());
+			start[reduce(hashes[n], buckets) + 1]++;
+			n++;
+		}
+
+		//group the keys by bucket with a counting sort
+		int maxSize = 0;
+		for (int b = 0; b < buckets; b++) {
+			maxSize = Math.max(maxSize, start[b + 1]);
+			start[b + 1] += start[b];
+		}
+		int[] members = new int[n];
+		int[] fill = Arrays.copyOf(start, buckets);
+		for (int i = 0; i < n; i++) {
+			members[fill[reduce(hashes[i], buckets)]++] = i;
+		}
+
+		//keys repeating a hash code already in their bucket go to the overflow map
+		HashMap<K,V> overflow = null;
+		boolean[] skip = new boolean[n];
+		int placed = n;
+		for (int b = 0; b < buckets; b++) {
+			for (int x = start[b]; x < start[b + 1]; x++) {
+				for (int y = start[b]; y < x && !skip[members[x]]; y++) {
+					if (!skip[members[y]] && hashes[members[y]] == hashes[members[x]]) {
+						skip[members[x]] = true;
+					}
+				}
+				if (skip[members[x]]) {
+					if (overflow == null) {
+						overflow = new HashMap<>();
+					}
+					overflow.put(allKeys[members[x]], allValues[members[x]]);
+					placed--;
+				}
+			}
+		}
+
+		//order the buckets by size, largest first, with another counting sort
+		int[] bySize = new int[maxSize + 2];
+		for (int b = 0; b < buckets; b++) {
+			bySize[maxSize - (start[b + 1] - start[b]) + 1]++;
+		}
+		for (int s = 0; s <= maxSize; s++) {
+			bySize[s + 1] += bySize[s];
+		}
+		int[] order = new int[buckets];
+		for (int b = 0; b < buckets; b++) {
+			order[bySize[maxSize - (start[b + 1] - start[b])]++] = b;
+		}
+
+		K[] keys = (K[]) new Object[placed];
+		V[] values = (V[]) new Object[placed];
+		int[] seeds = new int[buckets];
+		boolean[] taken = new boolean[placed];
+		int[] slots = new int[maxSize];
+		int free = 0; //every slot below free is taken
+		for (int b : order) {
+			int size = 0;
+			for (int x = start[b]; x < start[b + 1]; x++) {
+				if (!skip[members[x]]) {
+					members[start[b] + size++] = members[x];
+				}
+			}
+			if (size == 0) {
+				continue;
+			}
+			if (size == 1) {
+				while (taken[free]) {
+					free++;
+				}
+				taken[free] = true;
+				seeds[b] = -free - 1;
+				keys[free] = allKeys[members[start[b]]];
+				values[free] = allValues[members[start[b]]];
+				continue;
+			}
+			for (int seed = 1; ; seed++) {
+				//try seeds until every key of the bucket lands on its own free slot
+				int k = 0;
+				while (k < size) {
+					int j = slot(hashes[members[start[b] + k]], seed, placed);
+					if (taken[j]) {
+						break;
+					}
+					taken[j] = true;
+					slots[k++] = j;
+				}
+				if (k == size) {
+					seeds[b] = seed;
+					for (k = 0; k < size; k++) {
+						keys[slots[k]] = allKeys[members[start[b] + k]];
+						values[slots[k]] = allValues[members[start[b] + k]];
+					}
+					break;
+				}
+				while (k > 0) {
+					taken[slots[--k]] = false;
+				}
+			}
+		}
+		return new FrozenMap<>(keys, values, seeds, overflow);
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return keys.length + ((overflow == null) ? 0 : overflow.size());
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(1)")
+	public V get(K key) {
+		//one seed and one slot; the overflow map only exists when keys share a hash code
+
+		if (keys.length == 0) {
+			return (overflow == null) ? null : overflow.get(key);
+		}
+		int j = slotOf(hash(key));
+		if (keys[j].equals(key)) {
+			return values[j];
+		}
+		return (overflow == null) ? null : overflow.get(key);
+	}
+
+	//not supported, the map is immutable
+	@Override
+	public V put(K key, V value) {
+		throw new UnsupportedOperationException("frozen map");
+	}
+
+	//not supported, the map is immutable
+	@Override
+	public V remove(K key) {
+		throw new UnsupportedOperationException("frozen map");
+	}
+
+	//not supported, the map is immutable
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		throw new UnsupportedOperationException("frozen map");
+	}
+
+	//private class for iterator, walks the slots and then the overflow map
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = 0;
+		private Iterator<Entry<K,V>> rest = (overflow == null) ? null : overflow.entrySet().iterator();
+
+		public boolean hasNext() {
+			return j < keys.length || (rest != null && rest.hasNext());
+		}
+
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			if (j < keys.length) {
+				Entry<K,V> answer = new mapEntry<>(keys[j], values[j]);
+				j++;
+				return answer;
+			}
+			return rest.next();
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
@@ -1,16 +1,48 @@
 package cs2321;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.BiFunction;
+
 import net.datastructures.*;
 
 public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 	
 	//vars
 	//
-	private UnorderedMap<K,V>[] table;
+	private AbstractMap<K,V>[] table; //buckets are UnorderedMap chains or TreeBucket trees
 	int 	size;  // number of mappings(entries) 
-	int 	capacity; // The size of the hash table. 
-	int     DefaultCapacity = 17; //The default hash table size
+	int 	capacity; // The size of the hash table, always a power of two so indexing is a mask
+	int     DefaultCapacity = 16; //The default hash table size
+	static final int MAXIMUM_CAPACITY = 1 << 30; //largest power of two an int sized table can have
+	HashStrategy<? super K> strategy = HashStrategy.mixing(); //turns keys into hashes
 	double  loadfactor= 0.75;  
+	double  shrinkfactor = 0.1875; //table is halved once size drops below capacity * shrinkfactor
+	int     shrinkFloor = DefaultCapacity; //removes never shrink the table below the capacity asked for at construction
+	int     modCount = 0; //number of structural changes, lets iterators detect concurrent modification
+	
+	//a chain longer than this is turned into a TreeBucket, a tree this small turns back into a chain
+	static final int TREEIFY_THRESHOLD = 8;
+	static final int UNTREEIFY_THRESHOLD = 6;
+	
+	//incremental rehash state, oldTable is only non null while buckets are being migrated
+	private AbstractMap<K,V>[] oldTable;
+	int     oldCapacity;
+	int     rehashIndex; //next bucket of oldTable to migrate
+	int     rehashStep = 0; //buckets migrated per operation, 0 means resize all at once
+	long    maxRehashNanos = 0; //longest time spent migrating in one operation
+	int     maxRehashEntries = 0; //most entries migrated in one operation
+	
+	//parallel resize state, growing a table of at least parallelResizeThreshold entries moves ranges of buckets concurrently
+	static final int RESIZE_GRAIN = 1 << 13; //old buckets one task moves without splitting further
+	int     parallelResizeThreshold = 0; //0 means resizes are always sequential
+	ForkJoinPool resizePool = null; //pool that runs parallel resizes, null means the common pool
 	
 	//constructors
 	//
@@ -25,40 +57,319 @@ public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 		instantiate(DefaultCapacity);
 	}
 	
+	//instantiate with given capacity, migrating at most rehashStep buckets per operation when resizing
+	public HashMap(int hashtablesize, int rehashStep) {
+		instantiate(hashtablesize);
+		setIncrementalRehash(rehashStep);
+	}
+	
+	//instantiate with given capacity and hash strategy
+	public HashMap(int hashtablesize, HashStrategy<? super K> strategy) {
+		this.strategy = strategy;
+		instantiate(hashtablesize);
+	}
+	
 	//utility
 	//
 	
 	//instantiate class object
 	private void instantiate(int hashtablesize) {
-		capacity = hashtablesize;
+		capacity = tableSizeFor(hashtablesize);
+		shrinkFloor = Math.max(DefaultCapacity, capacity);
 		size = 0;
 		createTable();
 	}
 	
-	//instantiates table as an array of UnorderedMap
+	//round given size up to the next power of two, at most MAXIMUM_CAPACITY
+	private static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+	}
+	
+	//smallest table size that holds the given number of entries under the load factor, at most MAXIMUM_CAPACITY
+	private int capacityFor(long entries) {
+		return tableSizeFor((int) Math.min(Math.ceil(entries / loadfactor), MAXIMUM_CAPACITY));
+	}
+	
+	//instantiates table as an array of buckets
 	@SuppressWarnings("unchecked")
 	private void createTable() {
-		table = (UnorderedMap<K,V>[]) new UnorderedMap[capacity];
+		table = (AbstractMap<K,V>[]) new AbstractMap[capacity];
 	}
 	
-	//returns hash of key
-	private int hashValue(K key) {
-		return Math.abs(key.hashCode()) % capacity;
+	//returns full hash of key, computed once per operation and cached in the entry
+	private int hash(K key) {
+		return strategy.hash(key);
 	}
 	
-	private void resize(int cap) {
-		ArrayList<Entry<K,V>> buffer = new ArrayList<>(size+1);
-		for(Entry<K,V> e : entrySet()) {
-			buffer.addLast(e);
+	//returns bucket index of a hash for a table of the given power of two size
+	private int hashValue(int hash, int cap) {
+		return hash & (cap - 1);
+	}
+	
+	//returns hash cached in a bucket entry, so moving entries never calls hashCode() again
+	private int hashOf(Entry<K,V> e) {
+		if (e instanceof mapEntry) {
+			return ((mapEntry<K,V>) e).hash;
+		}
+		return hash(e.getKey());
+	}
+	
+	//returns true if every key of the chain is Comparable and of one class, so it can be kept in a TreeBucket
+	@TimeComplexity("O(n)")
+	private boolean treeifiable(AbstractMap<K,V> bucket) {
+		Class<?> keyClass = null;
+		for (Entry<K,V> e : bucket.entrySet()) {
+			K key = e.getKey();
+			if (!(key instanceof Comparable) || (keyClass != null && key.getClass() != keyClass)) {
+				return false;
+			}
+			keyClass = key.getClass();
+		}
+		return true;
+	}
+	
+	//copies every entry of a bucket into a new bucket of the other kind
+	@TimeComplexity("O(n lg n)")
+	private AbstractMap<K,V> convert(AbstractMap<K,V> bucket, AbstractMap<K,V> into) {
+		if (bucket instanceof UnorderedMap) {
+			//a chain's entries are read straight from its arrays, without building entry objects
+			UnorderedMap<K,V> chain = (UnorderedMap<K,V>) bucket;
+			for (int j = 0; j < chain.size(); j++) {
+				into.put(chain.keyAt(j), chain.valueAt(j), chain.hashAt(j));
+			}
+			return into;
+		}
+		for (Entry<K,V> e : bucket.entrySet()) {
+			into.put(e.getKey(), e.getValue(), hashOf(e));
+		}
+		return into;
+	}
+	
+	//puts every entry of an old bucket into its bucket of the current table
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void rehashBucket(AbstractMap<K,V> bucket) {
+		if (bucket instanceof UnorderedMap) {
+			UnorderedMap<K,V> chain = (UnorderedMap<K,V>) bucket;
+			for (int j = 0; j < chain.size(); j++) {
+				int hash = chain.hashAt(j);
+				bucketPut(table, hashValue(hash, capacity), chain.keyAt(j), chain.valueAt(j), hash);
+			}
+			return;
+		}
+		for (Entry<K,V> e : bucket.entrySet()) {
+			int hash = hashOf(e);
+			bucketPut(table, hashValue(hash, capacity), e.getKey(), e.getValue(), hash);
+		}
+	}
+	
+	//puts entry into bucket i of tab, switching the bucket between chain and tree as needed
+	//returns value of entry overridden or null if new insertion
+	@TimeComplexity("O(lg n)")
+	@TimeComplexityExpected("O(1)")
+	private V bucketPut(AbstractMap<K,V>[] tab, int i, K key, V value, int hash) {
+		//a chain never grows past TREEIFY_THRESHOLD unless its keys can't be ordered,
+		//so the put is either O(1) on a short chain or O(lg n) on a tree
+		
+		AbstractMap<K,V> bucket = tab[i];
+		if (bucket == null) {
+			bucket = tab[i] = new UnorderedMap<>();
+		}
+		else if (bucket instanceof TreeBucket && !((TreeBucket<K,V>) bucket).accepts(key)) {
+			//a key that can't be ordered against the others forces the bucket back into a chain
+			bucket = tab[i] = convert(bucket, new UnorderedMap<>());
+		}
+		V answer = bucket.put(key, value, hash);
+		treeifyIfLong(tab, i);
+		return answer;
+	}
+	
+	//turns chain i of tab into a TreeBucket once it is longer than TREEIFY_THRESHOLD
+	//a chain that passed the threshold while holding keys that can't be ordered is retried on each put
+	@TimeComplexity("O(n lg n)")
+	@TimeComplexityExpected("O(1)")
+	private void treeifyIfLong(AbstractMap<K,V>[] tab, int i) {
+		//a chain normally converts as it reaches TREEIFY_THRESHOLD + 1 entries, a constant amount of work;
+		//only a chain already long because of such keys costs a scan, as much as the put that grew it
+		
+		AbstractMap<K,V> bucket = tab[i];
+		if (bucket.size() > TREEIFY_THRESHOLD && bucket instanceof UnorderedMap && treeifiable(bucket)) {
+			tab[i] = convert(bucket, new TreeBucket<>());
+		}
+	}
+	
+	//bookkeeping after a new entry was added, grows the table past the load factor
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void afterInsert() {
+		size++;
+		modCount++;
+		if(size > capacity * loadfactor && capacity < MAXIMUM_CAPACITY) {
+			rebuild(2 * capacity);
+		}
+	}
+	
+	//bookkeeping after an entry was removed from bucket i: drops or untreeifies the bucket
+	//and shrinks the table below the low watermark
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void afterRemove(int i) {
+		size--;
+		modCount++;
+		AbstractMap<K,V> bucket = table[i];
+		if (bucket.isEmpty()) {
+			//drop empty buckets so they don't hold their backing arrays forever
+			table[i] = null;
+		}
+		else if (bucket instanceof TreeBucket && bucket.size() <= UNTREEIFY_THRESHOLD) {
+			table[i] = convert(bucket, new UnorderedMap<>());
 		}
+		//shrinking only well below the grow threshold keeps a put/remove cycle from resizing back and forth
+		//and a presized table keeps its size, so the batch it was sized for doesn't have to regrow it
+		if (size < capacity * shrinkfactor && capacity > shrinkFloor) {
+			int cap = capacity;
+			while (size < cap * shrinkfactor && cap > shrinkFloor) {
+				cap = Math.max(shrinkFloor, cap / 2);
+			}
+			rebuild(cap);
+		}
+	}
+	
+	//grows or shrinks the table, either all at once or by starting an incremental migration
+	private void rebuild(int cap) {
+		if (rehashStep == 0) {
+			resize(cap);
+		}
+		else if (oldTable == null) {
+			//a resize requested while still migrating waits until the migration finishes
+			oldTable = table;
+			oldCapacity = capacity;
+			rehashIndex = 0;
+			capacity = cap;
+			createTable();
+		}
+	}
+	
+	//moves every entry of oldTable bucket i into the current table, returns number of entries moved
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int migrateBucket(int i) {
+		AbstractMap<K,V> bucket = oldTable[i];
+		if (bucket == null) {
+			return 0;
+		}
+		rehashBucket(bucket);
+		oldTable[i] = null;
+		modCount++;
+		return bucket.size();
+	}
+	
+	//migrates old bucket keyIndex (if not -1) plus the next rehashStep buckets
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void rehashStep(int keyIndex) {
+		//each call visits at most rehashStep + 1 buckets, each bucket holds O(1) entries on average
+		
+		long start = System.nanoTime();
+		int moved = 0;
+		if (keyIndex != -1) {
+			moved += migrateBucket(keyIndex);
+		}
+		for (int n = 0; n < rehashStep && rehashIndex < oldCapacity; n++) {
+			moved += migrateBucket(rehashIndex++);
+		}
+		if (rehashIndex >= oldCapacity) {
+			oldTable = null;
+		}
+		long elapsed = System.nanoTime() - start;
+		if (elapsed > maxRehashNanos) {
+			maxRehashNanos = elapsed;
+		}
+		if (moved > maxRehashEntries) {
+			maxRehashEntries = moved;
+		}
+	}
+	
+	//migrates every remaining bucket of an in progress incremental rehash
+	@TimeComplexity("O(n)")
+	private void finishRehash() {
+		while (oldTable != null) {
+			migrateBucket(rehashIndex++);
+			if (rehashIndex >= oldCapacity) {
+				oldTable = null;
+			}
+		}
+	}
+	
+	//moves every entry into a new table of the given size
+	//a large enough table that grows is split into ranges of old buckets moved in parallel
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		AbstractMap<K,V>[] old = table;
 		capacity = cap;
 		createTable();
-		size = 0;
-		for(Entry<K,V> e : buffer) {
-			put(e.getKey(),e.getValue());
+		modCount++;
+		if (cap > old.length && parallelResizeThreshold > 0 && size >= parallelResizeThreshold) {
+			ForkJoinPool pool = (resizePool != null) ? resizePool : ForkJoinPool.commonPool();
+			pool.invoke(new ResizeTask(old, 0, old.length));
+		}
+		else {
+			moveBuckets(old, 0, old.length);
+		}
+	}
+	
+	//moves every entry of buckets lo...hi-1 of old into the current table
+	@TimeComplexity("O(n)")
+	private void moveBuckets(AbstractMap<K,V>[] old, int lo, int hi) {
+		for (int i = lo; i < hi; i++) {
+			if (old[i] != null) {
+				rehashBucket(old[i]);
+			}
 		}
 	}
 	
+	//private class for a parallel resize, moves a range of old buckets and splits it in half while it is large
+	//the table grows by a power of two, so old bucket i only feeds new buckets i, i + old.length, ...
+	//and no two ranges ever write the same new bucket
+	private class ResizeTask extends RecursiveAction {
+		
+		private static final long serialVersionUID = 1L;
+		private final AbstractMap<K,V>[] old;
+		private final int lo;
+		private final int hi;
+		
+		ResizeTask(AbstractMap<K,V>[] old, int lo, int hi) {
+			this.old = old;
+			this.lo = lo;
+			this.hi = hi;
+		}
+		
+		protected void compute() {
+			if (hi - lo <= RESIZE_GRAIN) {
+				moveBuckets(old, lo, hi);
+			}
+			else {
+				int mid = (lo + hi) >>> 1;
+				invokeAll(new ResizeTask(old, lo, mid), new ResizeTask(old, mid, hi));
+			}
+		}
+	}
+	
+	//returns batch positions sorted by their bucket in the current table, packed as bucket << 32 | position
+	//positions that share a bucket keep their batch order
+	@TimeComplexity("O(n lg n)")
+	private long[] bucketOrder(int[] hashes) {
+		long[] order = new long[hashes.length];
+		for (int j = 0; j < hashes.length; j++) {
+			order[j] = ((long) hashValue(hashes[j], capacity) << 32) | j;
+		}
+		Arrays.sort(order);
+		return order;
+	}
+	
 	//functions
 	//
 	
@@ -68,6 +379,94 @@ public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 		return table.length;
 	}
 	
+	//sets the number of buckets migrated per get/put/remove while resizing, 0 resizes all at once
+	//a larger step finishes the migration sooner, a smaller step lowers the worst case per operation cost
+	//migrating a bucket is a structural change, so while rehashing even a get ends any open iteration
+	@TimeComplexity("O(n)")
+	public void setIncrementalRehash(int bucketsPerOperation) {
+		if (bucketsPerOperation < 0) {
+			throw new IllegalArgumentException("rehash step must not be negative");
+		}
+		rehashStep = bucketsPerOperation;
+		if (rehashStep == 0) {
+			finishRehash();
+		}
+	}
+	
+	//resizes that grow a table holding at least threshold entries move its buckets in parallel on the
+	//common pool, 0 keeps every resize sequential
+	@TimeComplexity("O(1)")
+	public void setParallelResize(int threshold) {
+		setParallelResize(threshold, null);
+	}
+	
+	//resizes that grow a table holding at least threshold entries move its buckets in parallel on pool,
+	//or on the common pool if pool is null, 0 keeps every resize sequential
+	//shrinking merges old buckets into the same new bucket, so it always stays sequential,
+	//and an incremental rehash (see setIncrementalRehash) migrates buckets one operation at a time instead
+	@TimeComplexity("O(1)")
+	public void setParallelResize(int threshold, ForkJoinPool pool) {
+		if (threshold < 0) {
+			throw new IllegalArgumentException("parallel resize threshold must not be negative");
+		}
+		parallelResizeThreshold = threshold;
+		resizePool = pool;
+	}
+	
+	//shrinks the table to the smallest size that holds the current entries under the load factor
+	//every bucket is rebuilt, so empty and oversized buckets are released as well
+	//this also gives up the presized capacity, later removes may shrink down to DefaultCapacity
+	@TimeComplexity("O(n)")
+	public void trimToSize() {
+		finishRehash();
+		shrinkFloor = DefaultCapacity;
+		resize(Math.max(DefaultCapacity, capacityFor(size)));
+	}
+	
+	//returns true while an incremental rehash is migrating buckets
+	@TimeComplexity("O(1)")
+	public boolean isRehashing() {
+		return oldTable != null;
+	}
+	
+	//returns the number of buckets currently kept as TreeBucket trees rather than chains
+	@TimeComplexity("O(n)")
+	public int treeBucketCount() {
+		int count = 0;
+		for (AbstractMap<K,V> bucket : table) {
+			if (bucket instanceof TreeBucket) {
+				count++;
+			}
+		}
+		if (oldTable != null) {
+			for (AbstractMap<K,V> bucket : oldTable) {
+				if (bucket instanceof TreeBucket) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+	
+	//returns the longest time in nanoseconds a single operation spent migrating buckets
+	@TimeComplexity("O(1)")
+	public long maxRehashNanos() {
+		return maxRehashNanos;
+	}
+	
+	//returns the most entries a single operation migrated
+	@TimeComplexity("O(1)")
+	public int maxRehashEntries() {
+		return maxRehashEntries;
+	}
+	
+	//clears the recorded migration maximums
+	@TimeComplexity("O(1)")
+	public void resetRehashStats() {
+		maxRehashNanos = 0;
+		maxRehashEntries = 0;
+	}
+	
 	//return number of elements in map
 	@Override
 	@TimeComplexity("O(1)")
@@ -92,11 +491,21 @@ public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 		//the most likely situation is that a bucket has one value in it meaning findIndex only loops through one value
 		//in the most likely case you would expect O(1)
 		
-		UnorderedMap<K,V> bucket = table[hashValue(key)];
+		int h = hash(key);
+		if (oldTable != null) {
+			//the key may still sit in an unmigrated old bucket
+			AbstractMap<K,V> old = oldTable[hashValue(h, oldCapacity)];
+			rehashStep(-1);
+			V answer = (old == null) ? null : old.get(key, h);
+			if (answer != null) {
+				return answer;
+			}
+		}
+		AbstractMap<K,V> bucket = table[hashValue(h, capacity)];
 		if (bucket == null) {
 			return null;
 		}
-		return bucket.get(key);
+		return bucket.get(key, h);
 	}
 
 	//adds entry to hash map, returns value of entry overridden or null if new insertion
@@ -109,16 +518,15 @@ public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 		//the most likely situation is that a bucket has one value in it meaning findIndex only loops through one value
 		//in the most likely case you would expect O(1)
 		
-		int hash = hashValue(key);
-		UnorderedMap<K,V> bucket = table[hash];
-		if (bucket == null) {
-			bucket = table[hash] = new UnorderedMap<>();
+		int h = hash(key);
+		if (oldTable != null) {
+			rehashStep(hashValue(h, oldCapacity));
 		}
-		int oldSize = bucket.size();
-		V answer = bucket.put(key, value);
-		size += (bucket.size() - oldSize);
-		if(size > capacity * loadfactor) {
-			resize(2 * capacity - 1);
+		int hash = hashValue(h, capacity);
+		int oldSize = (table[hash] == null) ? 0 : table[hash].size();
+		V answer = bucketPut(table, hash, key, value, h);
+		if (table[hash].size() != oldSize) {
+			afterInsert();
 		}
 		return answer;
 	}
@@ -133,32 +541,299 @@ public class HashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
 		//the most likely situation is that a bucket has one value in it meaning findIndex only loops through one value
 		//in the most likely case you would expect O(1)
 		
-		int hash = hashValue(key);
-		UnorderedMap<K,V> bucket = table[hash];
+		int h = hash(key);
+		if (oldTable != null) {
+			rehashStep(hashValue(h, oldCapacity));
+		}
+		int hash = hashValue(h, capacity);
+		AbstractMap<K,V> bucket = table[hash];
 		if (bucket == null) {
 			return null;
 		}
 		int oldSize = bucket.size();
-		V answer = bucket.remove(key);
-		size -= (oldSize - bucket.size());
+		V answer = bucket.remove(key, h);
+		if (bucket.size() != oldSize) {
+			afterRemove(hash);
+		}
 		return answer;
 	}
-
-	//returns iterable collection of entries in map
+	
+	//stores the value remapping returns for key and its current value (null if absent)
+	//a null result removes the entry, returns the new value
 	@Override
 	@TimeComplexity("O(n)")
-	public Iterable<Entry<K, V>> entrySet() {
-		//loops through all n values in the map
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//hashes the key and searches its bucket once, where get followed by put would do both twice
 		
-		ArrayList<Entry<K,V>> buffer = new ArrayList<>();
-		for(int n = 0; n < capacity; n++) {
-			if(table[n] != null) {
-				for(Entry<K,V> entry : table[n].entrySet()) {
-					buffer.addLast(entry);
+		int h = hash(key);
+		if (oldTable != null) {
+			rehashStep(hashValue(h, oldCapacity));
+		}
+		int hash = hashValue(h, capacity);
+		AbstractMap<K,V> bucket = table[hash];
+		if (bucket == null || (bucket instanceof TreeBucket && !((TreeBucket<K,V>) bucket).accepts(key))) {
+			//the key can't be in this bucket
+			V value = remapping.apply(key, null);
+			if (value != null) {
+				bucketPut(table, hash, key, value, h);
+				afterInsert();
+			}
+			return value;
+		}
+		int oldSize = bucket.size();
+		V value = bucket.compute(key, h, remapping);
+		if (bucket.size() > oldSize) {
+			treeifyIfLong(table, hash);
+			afterInsert();
+		}
+		else if (bucket.size() < oldSize) {
+			afterRemove(hash);
+		}
+		return value;
+	}
+
+	//puts every entry of the batch, for a repeated key the last entry wins
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n lg n)")
+	public void putAll(Iterable<? extends Entry<K,V>> entries) {
+		//collecting and hashing the batch is O(m) and sorting it by bucket O(m lg m)
+		//the table grows at most once, up front, instead of doubling again and again during the load,
+		//then the buckets are filled in table order so each one is visited once
+		//the table is sized as if every entry were new, so repeated keys can leave it one doubling too large
+		
+		Object[] batch = collect(entries);
+		if (batch.length == 0) {
+			return;
+		}
+		//a bulk load resizes all at once, an incremental migration would only interleave with it
+		finishRehash();
+		//summed as a long, a huge batch can't overflow into a small table size
+		int cap = Math.max(capacity, capacityFor((long) size + batch.length));
+		if (cap != capacity) {
+			resize(cap);
+		}
+		int[] hashes = new int[batch.length];
+		for (int j = 0; j < batch.length; j++) {
+			hashes[j] = hash(((Entry<K,V>) batch[j]).getKey());
+		}
+		int added = 0;
+		for (long o : bucketOrder(hashes)) {
+			int i = (int) (o >>> 32);
+			int j = (int) o;
+			Entry<K,V> e = (Entry<K,V>) batch[j];
+			int oldSize = (table[i] == null) ? 0 : table[i].size();
+			bucketPut(table, i, e.getKey(), e.getValue(), hashes[j]);
+			added += table[i].size() - oldSize;
+		}
+		size += added;
+		modCount++;
+	}
+	
+	//looks up every key of the batch, returns the mappings found in the order the keys were given
+	//keys with no entry are left out
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n lg n)")
+	public ArrayList<Entry<K,V>> getAll(Iterable<K> keys) {
+		//sorting the batch by bucket is O(m lg m), then every lookup is expected O(1) and the
+		//table is read front to back rather than at random
+		//unlike get this doesn't advance an incremental rehash, keys in unmigrated buckets are read from oldTable
+		
+		Object[] batch = collect(keys);
+		int[] hashes = new int[batch.length];
+		for (int j = 0; j < batch.length; j++) {
+			hashes[j] = hash((K) batch[j]);
+		}
+		Object[] found = new Object[batch.length];
+		for (long o : bucketOrder(hashes)) {
+			int i = (int) (o >>> 32);
+			int j = (int) o;
+			K key = (K) batch[j];
+			V answer = null;
+			if (oldTable != null) {
+				AbstractMap<K,V> old = oldTable[hashValue(hashes[j], oldCapacity)];
+				answer = (old == null) ? null : old.get(key, hashes[j]);
+			}
+			if (answer == null && table[i] != null) {
+				answer = table[i].get(key, hashes[j]);
+			}
+			found[j] = answer;
+		}
+		return found(batch, found);
+	}
+
+	//returns an immutable copy of this map with one probe lookups, see FrozenMap
+	@TimeComplexity("O(n^2)")
+	@TimeComplexityExpected("O(n)")
+	public FrozenMap<K,V> freeze() {
+		return FrozenMap.freeze(this);
+	}
+
+	//private class for iterator, walks the buckets lazily instead of copying the entries
+	//throws ConcurrentModificationException if the map is structurally changed during iteration
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+		
+		private final int expectedModCount = modCount;
+		//while rehashing the unmigrated old buckets are walked first, then the current table
+		private AbstractMap<K,V>[] tab = (oldTable != null) ? oldTable : table;
+		private AbstractMap<K,V>[] nextTab = (oldTable != null) ? table : null;
+		private int index = 0;
+		private Iterator<Entry<K,V>> bucketIterator = null;
+		
+		//moves to the next bucket holding entries, returns false once every bucket is done
+		private boolean advance() {
+			while (bucketIterator == null || !bucketIterator.hasNext()) {
+				if (index < tab.length) {
+					AbstractMap<K,V> bucket = tab[index++];
+					bucketIterator = (bucket == null) ? null : bucket.entrySet().iterator();
+				}
+				else if (nextTab != null) {
+					tab = nextTab;
+					nextTab = null;
+					index = 0;
+				}
+				else {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+		public boolean hasNext() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			return advance();
+		}
+		
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return bucketIterator.next();
+		}
+		
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+	
+	//private class for spliterator, covers a range of bucket indexes and splits it in half
+	//while rehashing, indexes below oldTable.length are old buckets and the rest current ones
+	//throws ConcurrentModificationException if the map is structurally changed during traversal
+	private class EntrySpliterator implements Spliterator<Entry<K,V>> {
+		
+		private final AbstractMap<K,V>[] old = oldTable;
+		private final int oldLength = (oldTable != null) ? oldTable.length : 0;
+		private final AbstractMap<K,V>[] tab = table;
+		private final int expectedModCount;
+		private int index;
+		private int fence;
+		private long est; //exact until the first split, after that a share of the entries in proportion to the buckets
+		private boolean split = false;
+		private Iterator<Entry<K,V>> bucketIterator = null;
+		
+		EntrySpliterator() {
+			this(0, -1, size, modCount);
+			fence = oldLength + tab.length;
+		}
+		
+		EntrySpliterator(int index, int fence, long est, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.est = est;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		//returns bucket i of the combined range
+		private AbstractMap<K,V> bucket(int i) {
+			return (i < oldLength) ? old[i] : tab[i - oldLength];
+		}
+		
+		public boolean tryAdvance(Consumer<? super Entry<K,V>> action) {
+			while (bucketIterator == null || !bucketIterator.hasNext()) {
+				if (index >= fence) {
+					return false;
 				}
+				AbstractMap<K,V> bucket = bucket(index++);
+				bucketIterator = (bucket == null) ? null : bucket.entrySet().iterator();
 			}
+			action.accept(bucketIterator.next());
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			return true;
 		}
-		return buffer;
+		
+		public void forEachRemaining(Consumer<? super Entry<K,V>> action) {
+			if (bucketIterator != null) {
+				bucketIterator.forEachRemaining(action);
+				bucketIterator = null;
+			}
+			for (; index < fence; index++) {
+				AbstractMap<K,V> bucket = bucket(index);
+				if (bucket != null) {
+					for (Entry<K,V> e : bucket.entrySet()) {
+						action.accept(e);
+					}
+				}
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		//hands the lower half of the remaining buckets to a new spliterator
+		public Spliterator<Entry<K,V>> trySplit() {
+			int lo = index;
+			int mid = (lo + fence) >>> 1;
+			if (lo >= mid) {
+				return null;
+			}
+			index = mid;
+			est >>>= 1;
+			split = true;
+			EntrySpliterator prefix = new EntrySpliterator(lo, mid, est, expectedModCount);
+			prefix.split = true;
+			return prefix;
+		}
+		
+		public long estimateSize() {
+			return est;
+		}
+		
+		public int characteristics() {
+			//a partly walked bucket stays with this half, so the halves aren't in encounter order
+			return (split ? 0 : Spliterator.SIZED) | Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+	}
+	
+	//returns a spliterator that splits the bucket array in half, for parallel streams of the entries
+	@Override
+	@TimeComplexity("O(1)")
+	public Spliterator<Entry<K,V>> spliterator() {
+		//each split is O(1), a full traversal visits every bucket once like entrySet
+		
+		return new EntrySpliterator();
+	}
+	
+	//returns live iterable collection of entries in map, entries are produced as the iteration reaches them
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//a full iteration visits every bucket once, but nothing is copied up front
+		//so stopping early only pays for the buckets actually visited
+		
+		return new EntryIterable();
 	}
 	
 
@@ -0,0 +1,48 @@
+package cs2321;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Turns a key into the int hash a hash map indexes with.
+ * HashMap masks the low bits of this value against a power of two table, so a strategy
+ * should spread differences in the key into the low bits. Any lambda can be supplied,
+ * the factories below cover the common choices.
+ */
+
+@FunctionalInterface
+public interface HashStrategy<K> {
+
+	//returns the hash of key
+	int hash(K key);
+
+	//key.hashCode() unchanged, fastest but only safe when the low bits already vary (e.g. sequential Integers)
+	static <K> HashStrategy<K> identity() {
+		return key -> key.hashCode();
+	}
+
+	//key.hashCode() run through the murmur3 finalizer so every input bit affects the low bits
+	static <K> HashStrategy<K> mixing() {
+		return key -> mix(key.hashCode());
+	}
+
+	//like mixing but keyed with a random seed chosen per call, so an attacker can't precompute
+	//keys that land in the same bucket; keys with equal hashCode() still collide
+	static <K> HashStrategy<K> seeded() {
+		return seeded(ThreadLocalRandom.current().nextInt());
+	}
+
+	//like mixing but keyed with the given seed
+	static <K> HashStrategy<K> seeded(int seed) {
+		return key -> mix(key.hashCode() ^ seed) ^ seed;
+	}
+
+	//murmur3 32 bit finalizer
+	static int mix(int h) {
+		h ^= h >>> 16;
+		h *= 0x85ebca6b;
+		h ^= h >>> 13;
+		h *= 0xc2b2ae35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
@@ -0,0 +1,226 @@
+package cs2321;
+
+/*
+ * Hash map from int keys to object values with no boxing and no per entry objects.
+ * Keys sit in an int array probed linearly with the values in a parallel array.
+ * Key 0 marks an empty slot, so a mapping for key 0 is kept in its own field.
+ * Method shapes follow net.datastructures.Map; a missing key reads as null.
+ */
+
+public class IntObjectHashMap<V> {
+
+	//vars
+	//
+	private int[] keys;
+	private V[] values;
+	private boolean hasZeroKey = false;
+	private V zeroValue;
+	int 	size;  // number of mappings(entries)
+	int 	capacity; // The size of the hash table, always a power of two
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//instantiate with default capacity
+	public IntObjectHashMap() {
+		this(16);
+	}
+
+	//instantiate with given capacity
+	public IntObjectHashMap(int hashtablesize) {
+		capacity = PrimitiveTables.tableSizeFor(hashtablesize);
+		keys = new int[capacity];
+		values = newValues(capacity);
+	}
+
+	//utility
+	//
+
+	@SuppressWarnings("unchecked")
+	private static <V> V[] newValues(int cap) {
+		return (V[]) new Object[cap];
+	}
+
+	//mixes all bits of the key into the low bits used for indexing
+	private static int hash(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	//return slot holding given non zero key, or the empty slot where it would go
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(int key) {
+		int mask = capacity - 1;
+		int j = hash(key) & mask;
+		while (keys[j] != 0 && keys[j] != key) {
+			j = (j + 1) & mask;
+		}
+		return j;
+	}
+
+	//empties slot j and moves later entries of the probe run back into the hole
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void deleteSlot(int j) {
+		int mask = capacity - 1;
+		int next = j;
+		while (true) {
+			next = (next + 1) & mask;
+			if (keys[next] == 0) {
+				break;
+			}
+			int home = hash(keys[next]) & mask;
+			boolean stays = (j <= next) ? (j < home && home <= next) : (j < home || home <= next);
+			if (!stays) {
+				keys[j] = keys[next];
+				values[j] = values[next];
+				j = next;
+			}
+		}
+		keys[j] = 0;
+		values[j] = null;
+	}
+
+	//rebuild arrays at given capacity
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		int[] oldKeys = keys;
+		V[] oldValues = values;
+		capacity = cap;
+		keys = new int[cap];
+		values = newValues(cap);
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != 0) {
+				int slot = findSlot(oldKeys[j]);
+				keys[slot] = oldKeys[j];
+				values[slot] = oldValues[j];
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//return number of elements in map
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//returns true if the map holds a mapping for key
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public boolean containsKey(int key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return keys[findSlot(key)] != 0;
+	}
+
+	//return value associated with given key or null if no entry found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(int key) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : null;
+		}
+		int j = findSlot(key);
+		return keys[j] == 0 ? null : values[j];
+	}
+
+	//adds entry to map, returns value of entry overridden or null if new insertion
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(int key, V value) {
+		if (key == 0) {
+			V old = hasZeroKey ? zeroValue : null;
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int j = findSlot(key);
+		if (keys[j] != 0) {
+			V old = values[j];
+			values[j] = value;
+			return old;
+		}
+		if (size >= capacity - 1) {
+			//only reachable at MAXIMUM_CAPACITY, probing needs at least one empty slot
+			throw new IllegalStateException("Map is full");
+		}
+		keys[j] = key;
+		values[j] = value;
+		size++;
+		if (size > capacity * loadfactor && capacity < PrimitiveTables.MAXIMUM_CAPACITY) {
+			resize(2 * capacity);
+		}
+		return null;
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(int key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return null;
+			}
+			V answer = zeroValue;
+			hasZeroKey = false;
+			zeroValue = null; //let go of the removed value
+			size--;
+			return answer;
+		}
+		int j = findSlot(key);
+		if (keys[j] == 0) {
+			return null;
+		}
+		V answer = values[j];
+		deleteSlot(j);
+		size--;
+		return answer;
+	}
+
+	//returns a new array holding every key in the map
+	@TimeComplexity("O(n)")
+	public int[] keySet() {
+		int[] answer = new int[size];
+		int n = 0;
+		if (hasZeroKey) {
+			answer[n++] = 0;
+		}
+		for (int j = 0; j < keys.length; j++) {
+			if (keys[j] != 0) {
+				answer[n++] = keys[j];
+			}
+		}
+		return answer;
+	}
+
+	//returns iterable collection of every value in the map, in the same order as keySet
+	@TimeComplexity("O(n)")
+	public Iterable<V> values() {
+		ArrayList<V> answer = new ArrayList<>(size);
+		if (hasZeroKey) {
+			answer.addLast(zeroValue);
+		}
+		for (int j = 0; j < keys.length; j++) {
+			if (keys[j] != 0) {
+				answer.addLast(values[j]);
+			}
+		}
+		return answer;
+	}
+
+}
@@ -0,0 +1,218 @@
+package cs2321;
+
+import java.util.function.BiFunction;
+
+import net.datastructures.*;
+
+/*
+ * Bounded map that evicts the least recently used entries once it grows past its maximum weight.
+ * Entries live in an access ordered LinkedHashMap, so the least recently used entry is always
+ * at the front of its list and every get, put and eviction is O(1) expected.
+ * By default each entry weighs 1 and the maximum is a number of entries; a Weigher can make
+ * it a total size instead. Hits, misses and evictions are counted.
+ */
+
+public class LRUCache<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	private LinkedHashMap<K,V> map; //least recently used entry first
+	private final Weigher<? super K, ? super V> weigher;
+	private EvictionListener<? super K, ? super V> listener; //null if nobody listens
+	private long maxWeight;
+	private long weight = 0; //total weight of the cached entries
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	//constructors
+	//
+
+	//instantiate holding at most maxEntries entries
+	public LRUCache(int maxEntries) {
+		this(maxEntries, Weigher.singleton(), null);
+	}
+
+	//instantiate holding entries up to a total weight of maxWeight
+	public LRUCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+		this(maxWeight, weigher, null);
+	}
+
+	//instantiate holding entries up to a total weight of maxWeight, telling listener about every eviction
+	public LRUCache(long maxWeight, Weigher<? super K, ? super V> weigher, EvictionListener<? super K, ? super V> listener) {
+		if (maxWeight < 0) {
+			throw new IllegalArgumentException("maximum weight must not be negative");
+		}
+		this.maxWeight = maxWeight;
+		this.weigher = weigher;
+		this.listener = listener;
+		map = new LinkedHashMap<>(16, true);
+	}
+
+	//utility
+	//
+
+	//returns weight of an entry, 0 for an absent value
+	private long weigh(K key, V value) {
+		return (value == null) ? 0 : weigher.weigh(key, value);
+	}
+
+	//drops least recently used entries until the total weight is within the maximum
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void evict() {
+		//each eviction is O(1) expected, and an insertion can only force out as many entries as its weight requires
+
+		while (weight > maxWeight && !map.isEmpty()) {
+			Entry<K,V> eldest = map.eldestEntry();
+			K key = eldest.getKey();
+			V value = map.remove(key);
+			weight -= weigh(key, value);
+			evictions++;
+			if (listener != null) {
+				listener.onEviction(key, value);
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//sets who is told about evictions, null for nobody
+	@TimeComplexity("O(1)")
+	public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+		this.listener = listener;
+	}
+
+	//returns the maximum total weight
+	@TimeComplexity("O(1)")
+	public long maxWeight() {
+		return maxWeight;
+	}
+
+	//changes the maximum total weight, evicting least recently used entries if the cache is now over it
+	@TimeComplexity("O(n)")
+	public void setMaxWeight(long maxWeight) {
+		if (maxWeight < 0) {
+			throw new IllegalArgumentException("maximum weight must not be negative");
+		}
+		this.maxWeight = maxWeight;
+		evict();
+	}
+
+	//returns total weight of the cached entries, equal to size() unless a weigher was given
+	@TimeComplexity("O(1)")
+	public long weight() {
+		return weight;
+	}
+
+	//returns number of get calls that found their key
+	@TimeComplexity("O(1)")
+	public long hitCount() {
+		return hits;
+	}
+
+	//returns number of get calls that didn't find their key
+	@TimeComplexity("O(1)")
+	public long missCount() {
+		return misses;
+	}
+
+	//returns number of entries dropped to stay within the maximum weight
+	@TimeComplexity("O(1)")
+	public long evictionCount() {
+		return evictions;
+	}
+
+	//returns fraction of get calls that were hits, 0 before the first get
+	@TimeComplexity("O(1)")
+	public double hitRate() {
+		long requests = hits + misses;
+		return (requests == 0) ? 0 : (double) hits / requests;
+	}
+
+	//clears the hit, miss and eviction counters
+	@TimeComplexity("O(1)")
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return map.size();
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return map.isEmpty();
+	}
+
+	//return value associated with given key or null if no entry found
+	//a hit makes the entry the most recently used
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		V value = map.get(key);
+		if (value == null) {
+			misses++;
+		}
+		else {
+			hits++;
+		}
+		return value;
+	}
+
+	//adds entry as the most recently used, returns value of entry overridden or null if new insertion
+	//evicts least recently used entries if the cache grows past its maximum weight
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		V old = map.put(key, value);
+		weight += weigh(key, value) - weigh(key, old);
+		evict();
+		return old;
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		V old = map.remove(key);
+		weight -= weigh(key, old);
+		return old;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value; doesn't count as a hit or miss
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		V[] previous = (V[]) new Object[1];
+		V value = map.compute(key, (k, old) -> {
+			previous[0] = old;
+			return remapping.apply(k, old);
+		});
+		weight += weigh(key, value) - weigh(key, previous[0]);
+		evict();
+		return value;
+	}
+
+	//returns iterable collection of entries from least to most recently used
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return map.entrySet();
+	}
+
+}
@@ -0,0 +1,237 @@
+package cs2321;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.*;
+
+/*
+ * Hash map that remembers an order over its entries.
+ * Every entry sits on a DoublyLinkedList and a HashMap maps each key to the entry's position
+ * in that list, so lookups cost a hash and removals unlink the entry in O(1). Iteration walks
+ * the list, which is O(size) instead of the O(capacity) scan of HashMap.entrySet().
+ * The order is insertion order, or least recently accessed first if accessOrder is set, and
+ * subclasses can override removeEldestEntry to evict from the front of the list on insert.
+ */
+
+public class LinkedHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	private HashMap<K, Position<mapEntry<K,V>>> index; //key to its entry's place in order
+	private DoublyLinkedList<mapEntry<K,V>> order; //eldest entry first
+	private final boolean accessOrder; //true moves an entry to the end of order whenever it is read or written
+	int     modCount = 0; //number of structural changes, lets iterators detect concurrent modification
+
+	//constructors
+	//
+
+	//instantiate with default capacity in insertion order
+	public LinkedHashMap() {
+		this(16, false);
+	}
+
+	//instantiate with given capacity in insertion order
+	public LinkedHashMap(int hashtablesize) {
+		this(hashtablesize, false);
+	}
+
+	//instantiate with given capacity, in access order if accessOrder is true
+	public LinkedHashMap(int hashtablesize, boolean accessOrder) {
+		index = new HashMap<>(hashtablesize);
+		order = new DoublyLinkedList<>();
+		this.accessOrder = accessOrder;
+	}
+
+	//utility
+	//
+
+	//records an access to the entry at p, which moves it to the end in access order
+	@TimeComplexity("O(1)")
+	private void touch(Position<mapEntry<K,V>> p) {
+		if (accessOrder) {
+			order.moveLast(p);
+			modCount++;
+		}
+	}
+
+	//bookkeeping after a new entry was added, evicts the eldest entry if removeEldestEntry asks for it
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void afterInsert() {
+		modCount++;
+		Entry<K,V> eldest = eldestEntry();
+		if (eldest != null && removeEldestEntry(eldest)) {
+			remove(eldest.getKey());
+		}
+	}
+
+	//called after every insertion with the entry at the front of the order
+	//returning true removes it, so a subclass can bound the map's size; the default never removes
+	protected boolean removeEldestEntry(Entry<K,V> eldest) {
+		return false;
+	}
+
+	//functions
+	//
+
+	//returns true if iteration runs from least to most recently accessed instead of insertion order
+	@TimeComplexity("O(1)")
+	public boolean accessOrder() {
+		return accessOrder;
+	}
+
+	//returns the first entry in iteration order, the least recently inserted or accessed, or null if empty
+	@TimeComplexity("O(1)")
+	public Entry<K,V> eldestEntry() {
+		Position<mapEntry<K,V>> p = order.first();
+		return (p == null) ? null : p.getElement();
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return order.size();
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return order.isEmpty();
+	}
+
+	//return value associated with given key or null if no entry found
+	//in access order this moves the entry to the end
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//one HashMap.get, moving the entry only relinks its list node
+
+		Position<mapEntry<K,V>> p = index.get(key);
+		if (p == null) {
+			return null;
+		}
+		touch(p);
+		return p.getElement().getValue();
+	}
+
+	//adds entry to map, returns value of entry overridden or null if new insertion
+	//a new entry goes to the end of the order, an overridden one only moves in access order
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//one HashMap.computeIfAbsent both finds an existing key and links a new one
+
+		int oldSize = order.size();
+		Position<mapEntry<K,V>> p = index.computeIfAbsent(key, k -> order.addLast(new mapEntry<>(k, value)));
+		if (order.size() != oldSize) {
+			afterInsert();
+			return null;
+		}
+		touch(p);
+		V old = p.getElement().getValue();
+		p.getElement().setValue(value);
+		return old;
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//one HashMap.remove, then the entry is unlinked from the list in O(1)
+
+		Position<mapEntry<K,V>> p = index.remove(key);
+		if (p == null) {
+			return null;
+		}
+		modCount++;
+		return order.remove(p).getValue();
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//the list is updated from inside one HashMap.compute, so the key is only searched once
+
+		int oldSize = order.size();
+		V[] result = (V[]) new Object[1];
+		index.compute(key, (k, p) -> {
+			V value = remapping.apply(k, (p == null) ? null : p.getElement().getValue());
+			result[0] = value;
+			if (value == null) {
+				if (p != null) {
+					order.remove(p);
+				}
+				return null;
+			}
+			if (p == null) {
+				return order.addLast(new mapEntry<>(k, value));
+			}
+			touch(p);
+			p.getElement().setValue(value);
+			return p;
+		});
+		if (order.size() > oldSize) {
+			afterInsert();
+		}
+		else if (order.size() < oldSize) {
+			modCount++;
+		}
+		return result[0];
+	}
+
+	//private class for iterator, follows the list from the eldest entry
+	//throws ConcurrentModificationException if the map is structurally changed during iteration,
+	//which in access order includes get
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private final int expectedModCount = modCount;
+		private Position<mapEntry<K,V>> cursor = order.first();
+
+		public boolean hasNext() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			return cursor != null;
+		}
+
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Position<mapEntry<K,V>> answer = cursor;
+			cursor = order.after(cursor);
+			return answer.getElement();
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries in insertion or access order
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
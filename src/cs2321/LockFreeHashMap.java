@@ -0,0 +1,483 @@
+package cs2321;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Non blocking hash map. Every bucket holds an immutable chain of nodes and every update
+ * builds a new chain and installs it with a compare and set on the bucket head, so no
+ * thread ever waits for another. Resizing is cooperative: threads that run into a moved
+ * bucket help copy a range of buckets into the next table before retrying.
+ */
+
+public class LockFreeHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//nested classes
+	//
+
+	//immutable chain node, safe to hand out as an entry because it is never changed after publication
+	static class Node<K,V> extends mapEntry<K,V> {
+		final Node<K,V> next;
+
+		Node(int hash, K key, V value, Node<K,V> next) {
+			super(key, value, hash);
+			this.next = next;
+		}
+
+		@Override
+		public void setValue(V newValue) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//placed in a bucket of the old table once that bucket has been copied to nextTable
+	static final class ForwardingNode<K,V> extends Node<K,V> {
+		final Node<K,V>[] nextTable;
+
+		ForwardingNode(Node<K,V>[] nextTable) {
+			super(MOVED, null, null, null);
+			this.nextTable = nextTable;
+		}
+	}
+
+	//state of one resize, shared by every thread that helps with it
+	static final class Resize<K,V> {
+		final Node<K,V>[] oldTable;
+		final Node<K,V>[] newTable;
+		final ForwardingNode<K,V> forward;
+		final AtomicInteger transferIndex; //buckets below this index are still unclaimed
+		final AtomicInteger transferred = new AtomicInteger();
+
+		Resize(Node<K,V>[] oldTable, Node<K,V>[] newTable) {
+			this.oldTable = oldTable;
+			this.newTable = newTable;
+			forward = new ForwardingNode<>(newTable);
+			transferIndex = new AtomicInteger(oldTable.length);
+		}
+	}
+
+	//vars
+	//
+	static final int MOVED = -1; //hash of forwarding nodes, user hashes are never negative
+	static final int STRIDE = 16; //buckets claimed at a time while helping a resize
+	static final int MAXIMUM_CAPACITY = 1 << 30; //largest power of two an int sized table can have
+
+	private static final VarHandle BUCKET = MethodHandles.arrayElementVarHandle(Node[].class);
+	private static final VarHandle TABLE;
+	private static final VarHandle RESIZING;
+	static {
+		try {
+			TABLE = MethodHandles.lookup().findVarHandle(LockFreeHashMap.class, "table", Node[].class);
+			RESIZING = MethodHandles.lookup().findVarHandle(LockFreeHashMap.class, "resizing", Resize.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile Node<K,V>[] table;
+	private volatile Resize<K,V> resizing; //non null while a resize is in progress
+	private final LongAdder count = new LongAdder();
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//instantiate with default capacity
+	public LockFreeHashMap() {
+		this(16);
+	}
+
+	//instantiate with given capacity
+	public LockFreeHashMap(int hashtablesize) {
+		table = newTable(tableSizeFor(hashtablesize));
+	}
+
+	//utility
+	//
+
+	//round given size up to the next power of two, at least 2 and at most MAXIMUM_CAPACITY
+	private static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 2) ? 2 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K,V> Node<K,V>[] newTable(int cap) {
+		return (Node<K,V>[]) new Node[cap];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K,V> Node<K,V> bucketAt(Node<K,V>[] tab, int i) {
+		return (Node<K,V>) BUCKET.getVolatile(tab, i);
+	}
+
+	private static <K,V> boolean casBucket(Node<K,V>[] tab, int i, Node<K,V> expected, Node<K,V> update) {
+		return BUCKET.compareAndSet(tab, i, expected, update);
+	}
+
+	private static <K,V> void setBucket(Node<K,V>[] tab, int i, Node<K,V> node) {
+		BUCKET.setVolatile(tab, i, node);
+	}
+
+	//spreads high bits into the low bits and clears the sign so it can't collide with MOVED
+	private static int spread(int h) {
+		return (h ^ (h >>> 16)) & 0x7fffffff;
+	}
+
+	//returns node with the given key in the chain starting at first, or null
+	private static <K,V> Node<K,V> find(Node<K,V> first, K key, int hash) {
+		for (Node<K,V> e = first; e != null; e = e.next) {
+			if (e.hash == hash && key.equals(e.key)) {
+				return e;
+			}
+		}
+		return null;
+	}
+
+	//returns a copy of the chain with target replaced by the given node (null drops target)
+	//nodes after target are shared, only the prefix is copied
+	private static <K,V> Node<K,V> replace(Node<K,V> first, Node<K,V> target, Node<K,V> replacement) {
+		if (first == target) {
+			return replacement;
+		}
+		return new Node<>(first.hash, first.key, first.value, replace(first.next, target, replacement));
+	}
+
+	//helps with a resize of tab if one is running, then returns the table to retry on
+	private Node<K,V>[] helpTransfer(Node<K,V>[] tab, ForwardingNode<K,V> f) {
+		Resize<K,V> r = resizing;
+		if (r != null && r.oldTable == tab) {
+			transfer(r);
+		}
+		return f.nextTable;
+	}
+
+	//starts a resize of tab if it is over its load factor and no resize is running
+	private void checkResize(Node<K,V>[] tab) {
+		if (count.sum() <= tab.length * loadfactor || tab != table || tab.length >= MAXIMUM_CAPACITY) {
+			return;
+		}
+		Resize<K,V> r = resizing;
+		if (r == null) {
+			r = new Resize<>(tab, newTable(tab.length * 2));
+			if (!RESIZING.compareAndSet(this, null, r)) {
+				return;
+			}
+			if (table != tab) {
+				//another resize finished between the check and the compare and set
+				abandon(r);
+				return;
+			}
+		}
+		if (r.oldTable == tab) {
+			transfer(r);
+		}
+	}
+
+	//claims ranges of old buckets and copies them until none are left
+	//the thread finishing the last range publishes the new table
+	//a resize of a table that was already replaced is stale: it copies nothing and is dropped
+	private void transfer(Resize<K,V> r) {
+		int n = r.oldTable.length;
+		if (table != r.oldTable) {
+			abandon(r);
+			return;
+		}
+		while (true) {
+			int hi = r.transferIndex.get();
+			if (hi <= 0) {
+				return;
+			}
+			int lo = Math.max(0, hi - STRIDE);
+			if (!r.transferIndex.compareAndSet(hi, lo)) {
+				continue;
+			}
+			for (int i = hi - 1; i >= lo; i--) {
+				if (!transferBucket(r, i)) {
+					abandon(r);
+					return;
+				}
+			}
+			if (r.transferred.addAndGet(hi - lo) == n) {
+				if (TABLE.compareAndSet(this, r.oldTable, r.newTable)) {
+					RESIZING.compareAndSet(this, r, null);
+				}
+				else {
+					abandon(r);
+				}
+				return;
+			}
+		}
+	}
+
+	//drops a stale resize so a new one can start, its newTable is never published
+	private void abandon(Resize<K,V> r) {
+		RESIZING.compareAndSet(this, r, null);
+	}
+
+	//splits old bucket i into buckets i and i + n of the new table, then marks it moved
+	//returns false without copying if the bucket was already moved, which only happens to a
+	//table some earlier resize replaced
+	private boolean transferBucket(Resize<K,V> r, int i) {
+		int n = r.oldTable.length;
+		while (true) {
+			Node<K,V> f = bucketAt(r.oldTable, i);
+			if (f instanceof ForwardingNode) {
+				return false;
+			}
+			Node<K,V> low = null;
+			Node<K,V> high = null;
+			for (Node<K,V> e = f; e != null; e = e.next) {
+				if ((e.hash & n) == 0) {
+					low = new Node<>(e.hash, e.key, e.value, low);
+				}
+				else {
+					high = new Node<>(e.hash, e.key, e.value, high);
+				}
+			}
+			//nobody else writes these new buckets until the forwarding node is in place
+			setBucket(r.newTable, i, low);
+			setBucket(r.newTable, i + n, high);
+			if (casBucket(r.oldTable, i, f, r.forward)) {
+				return true;
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//return total length of the current table
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return table.length;
+	}
+
+	//return number of elements in map, exact when no updates are in progress
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		long n = count.sum();
+		return (int) Math.max(0, Math.min(n, Integer.MAX_VALUE));
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return value associated with given key or null if no entry found, never blocks or writes
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		int hash = spread(key.hashCode());
+		Node<K,V>[] tab = table;
+		while (true) {
+			Node<K,V> f = bucketAt(tab, hash & (tab.length - 1));
+			if (f instanceof ForwardingNode) {
+				tab = ((ForwardingNode<K,V>) f).nextTable;
+				continue;
+			}
+			Node<K,V> e = find(f, key, hash);
+			return e == null ? null : e.value;
+		}
+	}
+
+	//adds entry to map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//each attempt copies at most one chain, a failed compare and set means another thread made progress
+
+		int hash = spread(key.hashCode());
+		Node<K,V>[] tab = table;
+		while (true) {
+			int i = hash & (tab.length - 1);
+			Node<K,V> f = bucketAt(tab, i);
+			if (f instanceof ForwardingNode) {
+				tab = helpTransfer(tab, (ForwardingNode<K,V>) f);
+				continue;
+			}
+			Node<K,V> e = find(f, key, hash);
+			if (e != null) {
+				Node<K,V> chain = replace(f, e, new Node<>(hash, key, value, e.next));
+				if (casBucket(tab, i, f, chain)) {
+					return e.value;
+				}
+			}
+			else if (casBucket(tab, i, f, new Node<>(hash, key, value, f))) {
+				count.increment();
+				checkResize(tab);
+				return null;
+			}
+		}
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		int hash = spread(key.hashCode());
+		Node<K,V>[] tab = table;
+		while (true) {
+			int i = hash & (tab.length - 1);
+			Node<K,V> f = bucketAt(tab, i);
+			if (f instanceof ForwardingNode) {
+				tab = helpTransfer(tab, (ForwardingNode<K,V>) f);
+				continue;
+			}
+			Node<K,V> e = find(f, key, hash);
+			if (e == null) {
+				return null;
+			}
+			if (casBucket(tab, i, f, replace(f, e, e.next))) {
+				count.decrement();
+				return e.value;
+			}
+		}
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value; the update is atomic, but remapping runs again whenever another
+	//thread changes the bucket first, so it should be cheap and free of side effects
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		int hash = spread(key.hashCode());
+		Node<K,V>[] tab = table;
+		while (true) {
+			int i = hash & (tab.length - 1);
+			Node<K,V> f = bucketAt(tab, i);
+			if (f instanceof ForwardingNode) {
+				tab = helpTransfer(tab, (ForwardingNode<K,V>) f);
+				continue;
+			}
+			Node<K,V> e = find(f, key, hash);
+			V value = remapping.apply(key, (e == null) ? null : e.value);
+			if (e != null && value != null) {
+				if (casBucket(tab, i, f, replace(f, e, new Node<>(hash, key, value, e.next)))) {
+					return value;
+				}
+			}
+			else if (e != null) {
+				if (casBucket(tab, i, f, replace(f, e, e.next))) {
+					count.decrement();
+					return null;
+				}
+			}
+			else if (value == null) {
+				return null;
+			}
+			else if (casBucket(tab, i, f, new Node<>(hash, key, value, f))) {
+				count.increment();
+				checkResize(tab);
+				return value;
+			}
+		}
+	}
+
+	//bucket still to be visited by an iterator, reached through a forwarding node
+	private static final class Pending<K,V> {
+		final Node<K,V>[] tab;
+		final int index;
+		final Pending<K,V> next;
+
+		Pending(Node<K,V>[] tab, int index, Pending<K,V> next) {
+			this.tab = tab;
+			this.index = index;
+			this.next = next;
+		}
+	}
+
+	//weakly consistent iterator, follows forwarding nodes into newer tables and never throws
+	//ConcurrentModificationException; each entry is a snapshot of its mapping when reached
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private final Node<K,V>[] baseTable = table;
+		private int baseIndex = 0;
+		private Pending<K,V> pending = null;
+		private Node<K,V> nextEntry = null;
+
+		public EntryIterator() {
+			advance();
+		}
+
+		private void advance() {
+			if (nextEntry != null) {
+				nextEntry = nextEntry.next;
+			}
+			while (nextEntry == null) {
+				Node<K,V>[] tab;
+				int i;
+				if (pending != null) {
+					tab = pending.tab;
+					i = pending.index;
+					pending = pending.next;
+				}
+				else if (baseIndex < baseTable.length) {
+					tab = baseTable;
+					i = baseIndex++;
+				}
+				else {
+					return;
+				}
+				Node<K,V> f = bucketAt(tab, i);
+				if (f instanceof ForwardingNode) {
+					Node<K,V>[] next = ((ForwardingNode<K,V>) f).nextTable;
+					pending = new Pending<>(next, i, new Pending<>(next, i + tab.length, pending));
+				}
+				else {
+					nextEntry = f;
+				}
+			}
+		}
+
+		public boolean hasNext() {
+			return nextEntry != null;
+		}
+
+		public Entry<K,V> next(){
+			if (nextEntry == null) {
+				throw new NoSuchElementException();
+			}
+			Entry<K,V> answer = nextEntry;
+			advance();
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns weakly consistent iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
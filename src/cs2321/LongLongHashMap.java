@@ -0,0 +1,233 @@
+package cs2321;
+
+/*
+ * Hash map from long keys to long values with no boxing and no per entry objects.
+ * Keys and values sit in two parallel long arrays probed linearly. Key 0 marks an empty
+ * slot, so a mapping for key 0 is kept in its own field beside the arrays.
+ * Method shapes follow net.datastructures.Map; a missing key reads as missingValue.
+ */
+
+public class LongLongHashMap {
+
+	//vars
+	//
+	private long[] keys;
+	private long[] values;
+	private boolean hasZeroKey = false;
+	private long zeroValue;
+	private final long missingValue; //returned by get/put/remove when the key is absent
+	int 	size;  // number of mappings(entries)
+	int 	capacity; // The size of the hash table, always a power of two
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//instantiate with default capacity, absent keys read as 0
+	public LongLongHashMap() {
+		this(16, 0);
+	}
+
+	//instantiate with given capacity, absent keys read as 0
+	public LongLongHashMap(int hashtablesize) {
+		this(hashtablesize, 0);
+	}
+
+	//instantiate with given capacity and the value reported for absent keys
+	public LongLongHashMap(int hashtablesize, long missingValue) {
+		this.missingValue = missingValue;
+		capacity = PrimitiveTables.tableSizeFor(hashtablesize);
+		keys = new long[capacity];
+		values = new long[capacity];
+	}
+
+	//utility
+	//
+
+	//mixes all bits of the key into the low bits used for indexing
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	//return slot holding given non zero key, or the empty slot where it would go
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(long key) {
+		int mask = capacity - 1;
+		int j = hash(key) & mask;
+		while (keys[j] != 0 && keys[j] != key) {
+			j = (j + 1) & mask;
+		}
+		return j;
+	}
+
+	//empties slot j and moves later entries of the probe run back into the hole
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void deleteSlot(int j) {
+		int mask = capacity - 1;
+		int next = j;
+		while (true) {
+			next = (next + 1) & mask;
+			if (keys[next] == 0) {
+				break;
+			}
+			int home = hash(keys[next]) & mask;
+			boolean stays = (j <= next) ? (j < home && home <= next) : (j < home || home <= next);
+			if (!stays) {
+				keys[j] = keys[next];
+				values[j] = values[next];
+				j = next;
+			}
+		}
+		keys[j] = 0;
+		values[j] = 0;
+	}
+
+	//rebuild arrays at given capacity
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		long[] oldKeys = keys;
+		long[] oldValues = values;
+		capacity = cap;
+		keys = new long[cap];
+		values = new long[cap];
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != 0) {
+				int slot = findSlot(oldKeys[j]);
+				keys[slot] = oldKeys[j];
+				values[slot] = oldValues[j];
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//return value reported for absent keys
+	@TimeComplexity("O(1)")
+	public long missingValue() {
+		return missingValue;
+	}
+
+	//return number of elements in map
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//returns true if the map holds a mapping for key
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public boolean containsKey(long key) {
+		if (key == 0) {
+			return hasZeroKey;
+		}
+		return keys[findSlot(key)] != 0;
+	}
+
+	//return value associated with given key or missingValue if no entry found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public long get(long key) {
+		if (key == 0) {
+			return hasZeroKey ? zeroValue : missingValue;
+		}
+		int j = findSlot(key);
+		return keys[j] == 0 ? missingValue : values[j];
+	}
+
+	//adds entry to map, returns value of entry overridden or missingValue if new insertion
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public long put(long key, long value) {
+		if (key == 0) {
+			long old = hasZeroKey ? zeroValue : missingValue;
+			if (!hasZeroKey) {
+				hasZeroKey = true;
+				size++;
+			}
+			zeroValue = value;
+			return old;
+		}
+		int j = findSlot(key);
+		if (keys[j] != 0) {
+			long old = values[j];
+			values[j] = value;
+			return old;
+		}
+		if (size >= capacity - 1) {
+			//only reachable at MAXIMUM_CAPACITY, probing needs at least one empty slot
+			throw new IllegalStateException("Map is full");
+		}
+		keys[j] = key;
+		values[j] = value;
+		size++;
+		if (size > capacity * loadfactor && capacity < PrimitiveTables.MAXIMUM_CAPACITY) {
+			resize(2 * capacity);
+		}
+		return missingValue;
+	}
+
+	//removes entry from map, then return value of removed entry or missingValue if no entry found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public long remove(long key) {
+		if (key == 0) {
+			if (!hasZeroKey) {
+				return missingValue;
+			}
+			hasZeroKey = false;
+			size--;
+			return zeroValue;
+		}
+		int j = findSlot(key);
+		if (keys[j] == 0) {
+			return missingValue;
+		}
+		long answer = values[j];
+		deleteSlot(j);
+		size--;
+		return answer;
+	}
+
+	//returns a new array holding every key in the map
+	@TimeComplexity("O(n)")
+	public long[] keySet() {
+		long[] answer = new long[size];
+		int n = 0;
+		if (hasZeroKey) {
+			answer[n++] = 0;
+		}
+		for (int j = 0; j < keys.length; j++) {
+			if (keys[j] != 0) {
+				answer[n++] = keys[j];
+			}
+		}
+		return answer;
+	}
+
+	//returns a new array holding every value in the map, in the same order as keySet
+	@TimeComplexity("O(n)")
+	public long[] values() {
+		long[] answer = new long[size];
+		int n = 0;
+		if (hasZeroKey) {
+			answer[n++] = zeroValue;
+		}
+		for (int j = 0; j < keys.length; j++) {
+			if (keys[j] != 0) {
+				answer[n++] = values[j];
+			}
+		}
+		return answer;
+	}
+
+}
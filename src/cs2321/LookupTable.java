@@ -1,5 +1,9 @@
 package cs2321;
 
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.BiFunction;
+
 import net.datastructures.*;
 
 public class LookupTable<K extends Comparable<K>, V> extends AbstractMap<K,V> implements SortedMap<K, V> {
@@ -137,6 +141,93 @@ public class LookupTable<K extends Comparable<K>, V> extends AbstractMap<K,V> im
 		return table.remove(n).getValue();
 	}
 
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//one findIndex which is O(log n) instead of one for the lookup and another for the update
+		//inserting or removing still shifts the arraylist so this is O(n) like put and remove
+		
+		int n = findIndex(key);
+		boolean present = n < size() && key.compareTo( table.get(n).getKey()) == 0;
+		V value = remapping.apply(key, present ? table.get(n).getValue() : null);
+		if (present && value != null) {
+			table.get(n).setValue(value);
+		}
+		else if (present) {
+			table.remove(n);
+		}
+		else if (value != null) {
+			table.add(n, new mapEntry<K,V>(key,value));
+		}
+		return value;
+	}
+
+	//puts every entry of the batch, for a repeated key the last entry wins
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n + m lg m)")
+	public void putAll(Iterable<? extends Entry<K,V>> entries) {
+		//sorting the m entries of the batch is O(m lg m), merging them with the table is a single O(n + m) pass
+		//m separate puts would each shift the arraylist, which is O(nm)
+		
+		Object[] batch = collect(entries);
+		//the sort is stable, so the last entry of a run of equal keys is the one put last
+		Arrays.sort(batch, (a, b) -> ((Entry<K,V>) a).getKey().compareTo(((Entry<K,V>) b).getKey()));
+		ArrayList<mapEntry<K,V>> merged = new ArrayList<>(table.size() + batch.length);
+		int n = 0;
+		for (int j = 0; j < batch.length; j++) {
+			Entry<K,V> e = (Entry<K,V>) batch[j];
+			K key = e.getKey();
+			if (j + 1 < batch.length && key.compareTo(((Entry<K,V>) batch[j + 1]).getKey()) == 0) {
+				continue;
+			}
+			while (n < table.size() && key.compareTo(table.get(n).getKey()) > 0) {
+				merged.addLast(table.get(n++));
+			}
+			if (n < table.size() && key.compareTo(table.get(n).getKey()) == 0) {
+				table.get(n).setValue(e.getValue());
+				merged.addLast(table.get(n++));
+			}
+			else {
+				merged.addLast(new mapEntry<K,V>(key, e.getValue()));
+			}
+		}
+		while (n < table.size()) {
+			merged.addLast(table.get(n++));
+		}
+		table = merged;
+	}
+	
+	//looks up every key of the batch, returns the mappings found in the order the keys were given
+	//keys with no entry are left out
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(m lg m + m lg n)")
+	public ArrayList<Entry<K,V>> getAll(Iterable<K> keys) {
+		//sorting the m keys is O(m lg m), after that each findIndex only searches the part of the
+		//table after the previous key's index, so lookups move through the table front to back
+		
+		Object[] batch = collect(keys);
+		Integer[] order = new Integer[batch.length];
+		for (int j = 0; j < batch.length; j++) {
+			order[j] = j;
+		}
+		Arrays.sort(order, (a, b) -> ((K) batch[a]).compareTo((K) batch[b]));
+		Object[] found = new Object[batch.length];
+		int low = 0;
+		for (int j : order) {
+			K key = (K) batch[j];
+			int n = findIndex(key, low, table.size() - 1);
+			if (n < size() && key.compareTo( table.get(n).getKey()) == 0) {
+				found[j] = table.get(n).getValue();
+			}
+			low = n;
+		}
+		return found(batch, found);
+	}
+
 	//returns iterable array list of the entire lookup table
 	@Override
 	@TimeComplexity("O(n)")
@@ -146,6 +237,16 @@ public class LookupTable<K extends Comparable<K>, V> extends AbstractMap<K,V> im
 		return snapshot(0,null);
 	}
 
+	//returns a spliterator over the entries in key order, splits by halving the index range of the table
+	@SuppressWarnings("unchecked")
+	@Override
+	@TimeComplexity("O(1)")
+	public Spliterator<Entry<K, V>> spliterator() {
+		//the table's own array is split directly, no snapshot is copied
+		
+		return (Spliterator<Entry<K,V>>) (Spliterator<?>) table.spliterator();
+	}
+
 	//returns entry with least key
 	@Override
 	@TimeComplexity("O(1)")
@@ -0,0 +1,864 @@
+package cs2321;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Hash map kept in a memory mapped file, so reopening it only reads a header and gets are
+ * served straight from the page cache instead of rebuilding the map in the heap.
+ * Records and the index are laid out like OffHeapHashMap, but addressed by file offset, and the
+ * file is mapped in chunks of 1GiB that are remapped as it grows.
+ *
+ * On disk layout, all numbers big endian:
+ *   0     header slot A
+ *   4096  header slot B
+ *   8192  data        records, index pages and page tables in the order they were written, up to data end
+ * Both header slots hold a complete header with the same layout, written alternately:
+ *   0     long        magic "CS2321MH"
+ *   8     int         version
+ *   12    int         dirty flag, 1 once changes past this header may be unflushed
+ *   16    long        sequence, the valid slot with the higher one is current
+ *   24    int         size
+ *   28    int         capacity
+ *   32    long        page table offset
+ *   40    long        data end
+ *   48    long        garbage bytes
+ *   56    int         CRC32 of bytes 0 to 55
+ * Data:
+ *   record            int key length, int value length, key bytes, value bytes; never crosses a chunk
+ *   index page        256 slots of 16 bytes (all capacity slots if fewer), aligned to its own size:
+ *                     long record offset + 1 (0 marks an empty slot), int hash of the key bytes,
+ *                     int unused; the slots of all pages in order are probed linearly like ProbeHashMap
+ *   page table        capacity / 256 longs (at least one), the file offset of each index page
+ * Records are never changed once written: a put appends a new record and a remove only clears
+ * the index slot. Growing the index writes all new pages at the end of the data. The page table
+ * is also kept in memory, 8 bytes for every 256 slots.
+ *
+ * Crash safety: a header is written to the slot the previous one didn't use, so one of the two
+ * always has a valid CRC, and opening picks the valid one with the highest sequence. Nothing the
+ * newest clean header points at is ever written again: the first change after opening or
+ * flushing commits the same header marked dirty, and an index page the clean header points at
+ * is copied past the data end before its first change, so only the pages that change are copied.
+ * flush and close force the data to disk, write the page table and commit a clean header
+ * pointing at it. Opening a dirty file goes back to the committed page table and data end, so
+ * changes since the last flush may be lost but every flushed entry comes back as it was flushed.
+ *
+ * Replaced and removed records, copied pages and old page tables are garbage. Once garbage
+ * outweighs the live bytes, the live records are rewritten with a new index into a file beside
+ * this one, which is flushed and then moved over it, so a crash leaves one whole file or the other.
+ * The file is locked while the map is open, so no other map can write it at the same time.
+ */
+
+public class MappedHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V>, AutoCloseable {
+
+	//vars
+	//
+	static final long MAGIC = 0x4353323332314D48L; //"CS2321MH"
+	static final int VERSION = 3; //version 2 copied the whole index on the first change after a flush
+	static final int HEADER_BYTES = 56; //header bytes the CRC covers
+	static final long[] HEADERS = {0, 4096};
+	static final long DATA_START = 8192;
+	static final long CHUNK = 1L << 30; //bytes mapped by one buffer
+	static final int SLOT = 16;
+	static final int PAGE_SLOTS = 256; //index slots per page, copied together before their first change after a flush
+	static final long MIN_COMPACT = 1 << 20; //garbage bytes below which the file is never compacted
+	static final int RECORD_HEADER = 8;
+
+	private final Path file;
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private FileChannel channel;
+	private FileLock lock; //held while the map is open, so no other map writes the same file
+	private MappedByteBuffer[] chunks;
+	private long fileLength;
+	private long sequence; //sequence number of the last header written
+	private boolean dirty; //true once the header on disk says changes may be unflushed
+	private long[] pages; //file offset of each index page
+	private long indexOffset; //file offset of the committed page table
+	private long tableBytes = 0; //length of the committed page table
+	private long dataEnd; //file offset the next record, index page or page table is written at
+	private long committedEnd = 0; //data end of the last clean header, nothing before it is written again
+	private long garbageBytes = 0; //bytes of replaced or removed records, copied index pages, old page tables and padding
+	int 	size;  // number of mappings(entries)
+	int 	capacity; // number of index slots, always a power of two
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//opens the map stored in file, creating an empty one if the file is empty or missing
+	//throws IOException if the file isn't a map, both of its headers are damaged, or another
+	//map, in this process or another, has it open
+	public MappedHashMap(Path file, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		this(file, keyCodec, valueCodec, 16);
+	}
+
+	//opens the map stored in file, a new map gets an index of cap slots
+	private MappedHashMap(Path file, Codec<K> keyCodec, Codec<V> valueCodec, int cap) throws IOException {
+		this.file = file;
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			lock = channel.tryLock();
+		}
+		catch (OverlappingFileLockException e) {
+			//another map in this process holds the lock
+			lock = null;
+		}
+		if (lock == null) {
+			channel.close();
+			throw new IOException("file is open in another map: " + file);
+		}
+		try {
+			open(cap);
+		}
+		catch (IOException | RuntimeException e) {
+			//closing the channel releases the lock, so the file can be opened again
+			channel.close();
+			throw e;
+		}
+	}
+
+	//utility
+	//
+
+	//reads the header of the locked file, or writes an empty map with cap index slots if the file is empty
+	private void open(int cap) throws IOException {
+		fileLength = channel.size();
+		chunks = new MappedByteBuffer[0];
+		if (fileLength == 0) {
+			capacity = cap;
+			dataEnd = DATA_START;
+			pages = allocateIndex(capacity);
+			sequence = 0;
+			writePageTable();
+			force();
+			commit(false);
+			return;
+		}
+		remap();
+		int header = newestHeader();
+		if (header == -1) {
+			throw new IOException("not a map file, or both headers are damaged");
+		}
+		readHeader(HEADERS[header]);
+		if (dirty) {
+			recover();
+		}
+	}
+
+	//maps the whole file, reusing chunks whose length didn't change
+	private void remap() throws IOException {
+		int count = (int) ((fileLength + CHUNK - 1) / CHUNK);
+		MappedByteBuffer[] mapped = Arrays.copyOf(chunks, count);
+		for (int c = 0; c < count; c++) {
+			long length = Math.min(CHUNK, fileLength - c * CHUNK);
+			if (mapped[c] == null || mapped[c].capacity() != length) {
+				mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE, c * CHUNK, length);
+			}
+		}
+		chunks = mapped;
+	}
+
+	//grows the file to at least end bytes, by at least its own length up to a chunk, and remaps it
+	@TimeComplexity("O(1)")
+	private void ensureLength(long end) {
+		if (end <= fileLength) {
+			return;
+		}
+		long length = Math.max(end, fileLength + Math.min(Math.max(fileLength, DATA_START), CHUNK));
+		fileLength = (length + 4095) & ~4095L;
+		try {
+			//mapping past the end of the file extends it
+			remap();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//returns the buffer holding file offset position
+	private ByteBuffer chunk(long position) {
+		return chunks[(int) (position / CHUNK)];
+	}
+
+	//returns the offset of file offset position within its chunk
+	private static int offset(long position) {
+		return (int) (position % CHUNK);
+	}
+
+	//returns the index of the valid header with the highest sequence, or -1 if neither is valid
+	private int newestHeader() {
+		int newest = -1;
+		long best = -1;
+		for (int i = 0; i < HEADERS.length; i++) {
+			ByteBuffer chunk = chunks[0];
+			int base = (int) HEADERS[i];
+			if (fileLength < DATA_START || chunk.getLong(base) != MAGIC || chunk.getInt(base + 8) != VERSION) {
+				continue;
+			}
+			CRC32 crc = new CRC32();
+			crc.update(chunk.slice(base, HEADER_BYTES));
+			if ((int) crc.getValue() == chunk.getInt(base + HEADER_BYTES) && chunk.getLong(base + 16) > best) {
+				best = chunk.getLong(base + 16);
+				newest = i;
+			}
+		}
+		return newest;
+	}
+
+	//loads the header at base
+	private void readHeader(long base) {
+		ByteBuffer chunk = chunks[0];
+		int b = (int) base;
+		dirty = chunk.getInt(b + 12) != 0;
+		sequence = chunk.getLong(b + 16);
+		size = chunk.getInt(b + 24);
+		capacity = chunk.getInt(b + 28);
+		indexOffset = chunk.getLong(b + 32);
+		dataEnd = chunk.getLong(b + 40);
+		garbageBytes = chunk.getLong(b + 48);
+		committedEnd = dataEnd;
+		pages = new long[pageCount(capacity)];
+		for (int p = 0; p < pages.length; p++) {
+			long position = indexOffset + (long) p * 8;
+			pages[p] = chunk(position).getLong(offset(position));
+		}
+		tableBytes = (long) pages.length * 8;
+	}
+
+	//writes the current state as a new header into the slot the last one didn't use and forces it to disk
+	@TimeComplexity("O(1)")
+	private void commit(boolean markDirty) {
+		//the older header stays intact until this one is complete, so a torn write is never the newest valid one
+
+		sequence++;
+		dirty = markDirty;
+		if (!markDirty) {
+			committedEnd = dataEnd;
+		}
+		ByteBuffer chunk = chunks[0];
+		int b = (int) HEADERS[(int) (sequence & 1)];
+		chunk.putLong(b, MAGIC);
+		chunk.putInt(b + 8, VERSION);
+		chunk.putInt(b + 12, dirty ? 1 : 0);
+		chunk.putLong(b + 16, sequence);
+		chunk.putInt(b + 24, size);
+		chunk.putInt(b + 28, capacity);
+		chunk.putLong(b + 32, indexOffset);
+		chunk.putLong(b + 40, dataEnd);
+		chunk.putLong(b + 48, garbageBytes);
+		CRC32 crc = new CRC32();
+		crc.update(chunk.slice(b, HEADER_BYTES));
+		chunk.putInt(b + HEADER_BYTES, (int) crc.getValue());
+		chunks[0].force(b, HEADER_BYTES + 4);
+	}
+
+	//before the first change since the file was opened or flushed, marks it dirty on disk
+	//index pages are copied one at a time as they change, see setSlot
+	@TimeComplexity("O(1)")
+	private void beforeChange() {
+		ensureOpen();
+		if (!dirty) {
+			commit(true);
+		}
+	}
+
+	//throws IllegalStateException once the map is closed
+	private void ensureOpen() {
+		if (channel == null) {
+			throw new IllegalStateException("map is closed");
+		}
+	}
+
+	//returns the number of pages an index of cap slots is split into
+	private static int pageCount(int cap) {
+		return Math.max(1, cap / PAGE_SLOTS);
+	}
+
+	//returns the length of each page of the current index
+	private int pageBytes() {
+		return Math.min(capacity, PAGE_SLOTS) * SLOT;
+	}
+
+	//returns the file offset of index slot j of the index with the given pages
+	private static long slotPosition(long[] index, int j) {
+		return index[j / PAGE_SLOTS] + (long) (j % PAGE_SLOTS) * SLOT;
+	}
+
+	//returns the record offset stored in index slot j, or -1 if the slot is empty
+	private long addressAt(long[] index, int j) {
+		long position = slotPosition(index, j);
+		return chunk(position).getLong(offset(position)) - 1;
+	}
+
+	//returns the hash stored in index slot j
+	private int hashAt(long[] index, int j) {
+		long position = slotPosition(index, j);
+		return chunk(position).getInt(offset(position) + 8);
+	}
+
+	//stores a record's offset and hash in slot j of the current index, first copying its page
+	//if the last clean header points at it
+	@TimeComplexity("O(1)")
+	private void setSlot(int j, long address, int h) {
+		if (pages[j / PAGE_SLOTS] < committedEnd) {
+			copyPage(j / PAGE_SLOTS);
+		}
+		long position = slotPosition(pages, j);
+		ByteBuffer chunk = chunk(position);
+		chunk.putLong(offset(position), address + 1);
+		chunk.putInt(offset(position) + 8, h);
+	}
+
+	//empties slot j of the current index
+	private void clearSlot(int j) {
+		setSlot(j, -1, 0);
+	}
+
+	//returns the hash of encoded key bytes, mixed so the low bits used for indexing vary
+	private static int hash(byte[] key) {
+		return HashStrategy.mix(Arrays.hashCode(key));
+	}
+
+	//writes an empty index of cap slots at the end of the data, returns the offsets of its pages
+	@TimeComplexity("O(n)")
+	private long[] allocateIndex(int cap) {
+		//pages are aligned to their own size, which divides a chunk, so none crosses one; the
+		//region is zeroed since a crash can leave bytes of uncommitted writes past the data end
+
+		int bytes = Math.min(cap, PAGE_SLOTS) * SLOT;
+		long base = (dataEnd + bytes - 1) & ~(long) (bytes - 1);
+		long end = base + (long) cap * SLOT;
+		ensureLength(end);
+		byte[] zeros = new byte[4096];
+		for (long position = base; position < end; ) {
+			int length = (int) Math.min(zeros.length, Math.min(end - position, CHUNK - offset(position)));
+			chunk(position).put(offset(position), zeros, 0, length);
+			position += length;
+		}
+		garbageBytes += base - dataEnd;
+		dataEnd = end;
+		long[] index = new long[pageCount(cap)];
+		for (int p = 0; p < index.length; p++) {
+			index[p] = base + (long) p * bytes;
+		}
+		return index;
+	}
+
+	//moves index page p to a copy at the end of the data, leaving the committed page as it was
+	@TimeComplexity("O(1)")
+	private void copyPage(int p) {
+		//a page is at most PAGE_SLOTS slots
+
+		int bytes = pageBytes();
+		long base = (dataEnd + bytes - 1) & ~(long) (bytes - 1);
+		ensureLength(base + bytes);
+		byte[] page = new byte[bytes];
+		chunk(pages[p]).get(offset(pages[p]), page);
+		chunk(base).put(offset(base), page);
+		garbageBytes += base - dataEnd + bytes;
+		pages[p] = base;
+		dataEnd = base + bytes;
+	}
+
+	//writes the page table at the end of the data for the next clean header to point at
+	//the table the last header pointed at becomes garbage
+	@TimeComplexity("O(n)")
+	private void writePageTable() {
+		long base = (dataEnd + 7) & ~7L;
+		long end = base + (long) pages.length * 8;
+		ensureLength(end);
+		for (int p = 0; p < pages.length; p++) {
+			long position = base + (long) p * 8;
+			chunk(position).putLong(offset(position), pages[p]);
+		}
+		garbageBytes += base - dataEnd + tableBytes;
+		indexOffset = base;
+		tableBytes = end - base;
+		dataEnd = end;
+	}
+
+	//appends a record and returns its file offset
+	@TimeComplexity("O(1)")
+	private long append(byte[] key, byte[] value) {
+		long length = RECORD_HEADER + (long) key.length + value.length;
+		if (length > CHUNK) {
+			throw new IllegalArgumentException("entry larger than " + CHUNK + " bytes");
+		}
+		long address = dataEnd;
+		if (offset(address) + length > CHUNK) {
+			//records never cross a chunk, so skip to the next one
+			garbageBytes += CHUNK - offset(address);
+			address += CHUNK - offset(address);
+		}
+		ensureLength(address + length);
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		chunk.putInt(offset, key.length);
+		chunk.putInt(offset + 4, value.length);
+		chunk.put(offset + RECORD_HEADER, key);
+		chunk.put(offset + RECORD_HEADER + key.length, value);
+		dataEnd = address + length;
+		return address;
+	}
+
+	//returns the number of bytes the record at address takes up
+	private int recordLength(long address) {
+		ByteBuffer chunk = chunk(address);
+		return RECORD_HEADER + chunk.getInt(offset(address)) + chunk.getInt(offset(address) + 4);
+	}
+
+	//returns true if the record at address has the given key bytes
+	@TimeComplexity("O(1)")
+	private boolean keyEquals(long address, byte[] key) {
+		//compares the key's bytes, which are a constant length for a given key
+
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		if (chunk.getInt(offset) != key.length) {
+			return false;
+		}
+		return chunk.slice(offset + RECORD_HEADER, key.length).equals(ByteBuffer.wrap(key));
+	}
+
+	//returns the encoded key of the record at address
+	private byte[] keyBytes(long address) {
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		byte[] key = new byte[chunk.getInt(offset)];
+		chunk.get(offset + RECORD_HEADER, key);
+		return key;
+	}
+
+	//returns the encoded value of the record at address
+	private byte[] valueBytes(long address) {
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		byte[] value = new byte[chunk.getInt(offset + 4)];
+		chunk.get(offset + RECORD_HEADER + chunk.getInt(offset), value);
+		return value;
+	}
+
+	//decodes the key of the record at address
+	private K readKey(long address) {
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		return keyCodec.decode(chunk, offset + RECORD_HEADER, chunk.getInt(offset));
+	}
+
+	//decodes the value of the record at address
+	private V readValue(long address) {
+		ByteBuffer chunk = chunk(address);
+		int offset = offset(address);
+		int keyLength = chunk.getInt(offset);
+		return valueCodec.decode(chunk, offset + RECORD_HEADER + keyLength, chunk.getInt(offset + 4));
+	}
+
+	//return index slot holding given key bytes or -1 if key not found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(byte[] key, int h) {
+		//with a bounded load factor the expected probe length is constant
+
+		int mask = capacity - 1;
+		for (int j = h & mask; ; j = (j + 1) & mask) {
+			long address = addressAt(pages, j);
+			if (address == -1) {
+				return -1;
+			}
+			if (hashAt(pages, j) == h && keyEquals(address, key)) {
+				return j;
+			}
+		}
+	}
+
+	//stores a record's offset in the first empty slot of the current index from its home slot
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void insertSlot(long address, int h) {
+		int mask = capacity - 1;
+		int j = h & mask;
+		while (addressAt(pages, j) != -1) {
+			j = (j + 1) & mask;
+		}
+		setSlot(j, address, h);
+	}
+
+	//empties index slot j and shifts following slots back so no tombstones are needed
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void deleteSlot(int j) {
+		//move a slot into the hole only if its home slot is not between the hole and the slot
+
+		int mask = capacity - 1;
+		int next = j;
+		while (true) {
+			next = (next + 1) & mask;
+			long address = addressAt(pages, next);
+			if (address == -1) {
+				break;
+			}
+			int h = hashAt(pages, next);
+			int home = h & mask;
+			boolean stays = (j <= next) ? (j < home && home <= next) : (j < home || home <= next);
+			if (!stays) {
+				setSlot(j, address, h);
+				j = next;
+			}
+		}
+		clearSlot(j);
+	}
+
+	//writes a new index of cap slots holding every entry, the records don't move
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		long[] oldIndex = pages;
+		int oldCapacity = capacity;
+		pages = allocateIndex(cap);
+		capacity = cap;
+		garbageBytes += (long) oldCapacity * SLOT;
+		for (int j = 0; j < oldCapacity; j++) {
+			long address = addressAt(oldIndex, j);
+			if (address != -1) {
+				insertSlot(address, hashAt(oldIndex, j));
+			}
+		}
+	}
+
+	//returns a file that wasn't flushed after its last change to its last flushed state
+	@TimeComplexity("O(1)")
+	private void recover() {
+		//the dirty header holds the committed page table, data end, size and capacity, and
+		//none of the bytes they cover changed since, so committing it clean is all that's left;
+		//records and pages past the data end are overwritten by the next changes
+
+		commit(false);
+	}
+
+	//rewrites the file without its garbage once garbage outweighs the live bytes
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void compactIfWasteful() {
+		//a compaction copies the live bytes, which are fewer than the garbage bytes made since
+		//the last one, so it adds O(1) amortized to each put or remove
+
+		if (garbageBytes <= dataEnd - DATA_START - garbageBytes || garbageBytes < MIN_COMPACT) {
+			return;
+		}
+		Path temp = file.resolveSibling(file.getFileName() + ".compact");
+		MappedHashMap<K,V> copy = null;
+		boolean moved = false;
+		try {
+			Files.deleteIfExists(temp);
+			copy = new MappedHashMap<>(temp, keyCodec, valueCodec, capacity);
+			copy.beforeChange();
+			//the copy's empty index was committed only to make the new file valid and nothing
+			//reads it before the move, so its pages are filled where they are
+			copy.committedEnd = DATA_START;
+			for (int j = 0; j < capacity; j++) {
+				long address = addressAt(pages, j);
+				if (address != -1) {
+					//same capacity, so every entry keeps its slot
+					copy.setSlot(j, copy.append(keyBytes(address), valueBytes(address)), hashAt(pages, j));
+				}
+			}
+			copy.size = size;
+			copy.flush();
+			//this file stays locked until the copy has replaced it, so no other map can open either in between
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			moved = true;
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			if (!moved && copy != null) {
+				copy.discard(temp);
+			}
+		}
+		FileChannel old = channel;
+		adopt(copy);
+		try {
+			old.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	//takes over the file, mapping and state of a compacted copy, which has the same entries and capacity
+	private void adopt(MappedHashMap<K,V> copy) {
+		channel = copy.channel;
+		lock = copy.lock;
+		chunks = copy.chunks;
+		fileLength = copy.fileLength;
+		sequence = copy.sequence;
+		dirty = copy.dirty;
+		pages = copy.pages;
+		indexOffset = copy.indexOffset;
+		tableBytes = copy.tableBytes;
+		dataEnd = copy.dataEnd;
+		committedEnd = copy.committedEnd;
+		garbageBytes = copy.garbageBytes;
+	}
+
+	//closes a compaction copy that won't replace the file and deletes it
+	private void discard(Path temp) {
+		try {
+			channel.close();
+			Files.deleteIfExists(temp);
+		}
+		catch (IOException e) {
+			//the file being compacted is untouched, a leftover copy is deleted by the next compaction
+		}
+	}
+
+	//forces every chunk to disk
+	private void force() {
+		for (MappedByteBuffer chunk : chunks) {
+			chunk.force();
+		}
+	}
+
+	//functions
+	//
+
+	//forces all changes to disk and commits a clean header, after which a crash loses nothing
+	@TimeComplexity("O(n)")
+	public void flush() {
+		//forcing writes back the dirty pages, at most the whole file; the page table is
+		//capacity / 256 longs and only written if something changed
+
+		ensureOpen();
+		if (dirty) {
+			writePageTable();
+		}
+		force();
+		commit(false);
+	}
+
+	//flushes and closes the file, after which any other call but size, isEmpty and close throws IllegalStateException
+	@Override
+	@TimeComplexity("O(n)")
+	public void close() {
+		if (channel == null) {
+			return;
+		}
+		flush();
+		try {
+			channel.close();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		finally {
+			//closing the channel released the lock
+			channel = null;
+			lock = null;
+			chunks = null;
+		}
+	}
+
+	//return number of bytes of the file in use, headers, records and index regions together
+	@TimeComplexity("O(1)")
+	public long fileBytes() {
+		return dataEnd;
+	}
+
+	//return number of bytes of the file taken by replaced or removed records, copied index pages and old page tables
+	@TimeComplexity("O(1)")
+	public long garbageBytes() {
+		return garbageBytes;
+	}
+
+	//return total number of index slots
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return capacity;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return a copy of the value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//encodes the key and calls findSlot, which probes a constant number of slots on average
+
+		ensureOpen();
+		byte[] bytes = keyCodec.encode(key);
+		int j = findSlot(bytes, hash(bytes));
+		if (j == -1) {
+			return null;
+		}
+		return readValue(addressAt(pages, j));
+	}
+
+	//adds entry to hash map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//calls findSlot and appends one record; the occasional resize or compaction is O(n) but
+		//amortizes to O(1) per put
+
+		beforeChange();
+		byte[] keyBytes = keyCodec.encode(key);
+		int h = hash(keyBytes);
+		int j = findSlot(keyBytes, h);
+		if (j != -1) {
+			long address = addressAt(pages, j);
+			V old = readValue(address);
+			garbageBytes += recordLength(address);
+			setSlot(j, append(keyBytes, valueCodec.encode(value)), h);
+			compactIfWasteful();
+			return old;
+		}
+		if (size + 1 > capacity * loadfactor) {
+			resize(2 * capacity);
+		}
+		insertSlot(append(keyBytes, valueCodec.encode(value)), h);
+		size++;
+		return null;
+	}
+
+	//removes entry from hash map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//calls findSlot and deleteSlot, both touch a constant number of slots on average
+
+		beforeChange();
+		byte[] bytes = keyCodec.encode(key);
+		int j = findSlot(bytes, hash(bytes));
+		if (j == -1) {
+			return null;
+		}
+		long address = addressAt(pages, j);
+		V answer = readValue(address);
+		garbageBytes += recordLength(address);
+		deleteSlot(j);
+		size--;
+		compactIfWasteful();
+		return answer;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//encodes the key and calls findSlot once, then appends at most one record
+
+		beforeChange();
+		byte[] keyBytes = keyCodec.encode(key);
+		int h = hash(keyBytes);
+		int j = findSlot(keyBytes, h);
+		long address = (j == -1) ? -1 : addressAt(pages, j);
+		V value = remapping.apply(key, (j == -1) ? null : readValue(address));
+		if (j != -1) {
+			garbageBytes += recordLength(address);
+			if (value != null) {
+				setSlot(j, append(keyBytes, valueCodec.encode(value)), h);
+			}
+			else {
+				deleteSlot(j);
+				size--;
+			}
+		}
+		else if (value != null) {
+			if (size + 1 > capacity * loadfactor) {
+				resize(2 * capacity);
+			}
+			insertSlot(append(keyBytes, valueCodec.encode(value)), h);
+			size++;
+		}
+		compactIfWasteful();
+		return value;
+	}
+
+	//private class for iterator, decodes each entry as it is reached
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = advance(0);
+
+		//return index of next occupied slot at or after n
+		private int advance(int n) {
+			while (n < capacity && addressAt(pages, n) == -1) {
+				n++;
+			}
+			return n;
+		}
+
+		public boolean hasNext() {
+			return j < capacity;
+		}
+
+		public Entry<K,V> next(){
+			if (j >= capacity) {
+				throw new NoSuchElementException();
+			}
+			long address = addressAt(pages, j);
+			Entry<K,V> answer = new mapEntry<>(readKey(address), readValue(address));
+			j = advance(j + 1);
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			ensureOpen();
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of copies of the entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//iteration walks every index slot once and decodes each record
+
+		ensureOpen();
+		return new EntryIterable();
+	}
+
+}
@@ -0,0 +1,527 @@
+package cs2321;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Hash map that keeps its keys, values and index in direct ByteBuffers outside the Java heap,
+ * so a map of hundreds of millions of entries adds only a few buffer objects to what the
+ * garbage collector has to trace.
+ * Every mapping is encoded by the map's Codecs and appended as a record (key length, value
+ * length, key bytes, value bytes) to the current slab; slabs start at 64KiB and double up to
+ * 64MiB. The index is an open addressing table probed linearly like ProbeHashMap, each slot
+ * holding a record's address (slab number and offset) and the hash of its key bytes, split
+ * over chunks of 2^20 slots. Replaced and removed records are garbage until the slabs are
+ * compacted, which happens once garbage outweighs live records.
+ * get returns a freshly decoded copy, so changing it doesn't change the map. close() drops all
+ * buffers; the native memory is returned when the collector clears them.
+ */
+
+public class OffHeapHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V>, AutoCloseable {
+
+	//vars
+	//
+	static final int SLOT = 12; //index slot: address + 1 (0 marks an empty slot), then the hash
+	static final int CHUNK_SLOTS = 1 << 20; //index slots per buffer
+	static final int MAXIMUM_CAPACITY = 1 << 30; //most index slots an int slot number can address, 1024 chunks
+	static final int HEADER = 8; //record header: key length, then value length
+	static final int MIN_SLAB = 1 << 16;
+	static final int MAX_SLAB = 1 << 26;
+
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private ByteBuffer[] index;
+	private ByteBuffer[] slabs; //each slab's position is where the next record goes
+	private int slabCount = 0;
+	private long liveBytes = 0; //bytes of records the index points to
+	private long garbageBytes = 0; //bytes of replaced or removed records
+	private boolean closed = false;
+	int 	size;  // number of mappings(entries)
+	int 	capacity; // number of index slots, always a power of two
+	double  loadfactor = 0.75;
+
+	//constructors
+	//
+
+	//instantiate with default capacity
+	public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec) {
+		this(keyCodec, valueCodec, 16);
+	}
+
+	//instantiate with room for at least the given number of index slots
+	public OffHeapHashMap(Codec<K> keyCodec, Codec<V> valueCodec, int hashtablesize) {
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		capacity = tableSizeFor(hashtablesize);
+		index = createIndex(capacity);
+		slabs = new ByteBuffer[4];
+	}
+
+	//utility
+	//
+
+	//round given size up to the next power of two, at least 2 and at most MAXIMUM_CAPACITY
+	private static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 2) ? 2 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	//allocates an empty index of cap slots
+	private static ByteBuffer[] createIndex(int cap) {
+		ByteBuffer[] chunks = new ByteBuffer[(cap + CHUNK_SLOTS - 1) / CHUNK_SLOTS];
+		for (int c = 0; c < chunks.length; c++) {
+			//direct buffers start zeroed, so every slot starts empty
+			chunks[c] = ByteBuffer.allocateDirect(Math.min(cap, CHUNK_SLOTS) * SLOT);
+		}
+		return chunks;
+	}
+
+	//returns the address stored in index slot j of chunks, or -1 if the slot is empty
+	private static long addressAt(ByteBuffer[] chunks, int j) {
+		return chunks[j / CHUNK_SLOTS].getLong((j % CHUNK_SLOTS) * SLOT) - 1;
+	}
+
+	//returns the hash stored in index slot j of chunks
+	private static int hashAt(ByteBuffer[] chunks, int j) {
+		return chunks[j / CHUNK_SLOTS].getInt((j % CHUNK_SLOTS) * SLOT + 8);
+	}
+
+	//stores a record's address and hash in index slot j
+	private void setSlot(int j, long address, int h) {
+		ByteBuffer chunk = index[j / CHUNK_SLOTS];
+		int offset = (j % CHUNK_SLOTS) * SLOT;
+		chunk.putLong(offset, address + 1);
+		chunk.putInt(offset + 8, h);
+	}
+
+	//empties index slot j
+	private void clearSlot(int j) {
+		setSlot(j, -1, 0);
+	}
+
+	//returns the hash of encoded key bytes, mixed so the low bits used for indexing vary
+	private static int hash(byte[] key) {
+		return HashStrategy.mix(Arrays.hashCode(key));
+	}
+
+	//returns the slab holding the record at address
+	private ByteBuffer slab(long address) {
+		return slabs[(int) (address >>> 32)];
+	}
+
+	//returns the offset of the record at address within its slab
+	private static int offset(long address) {
+		return (int) address;
+	}
+
+	//returns the number of bytes the record at address takes up
+	private int recordLength(long address) {
+		ByteBuffer slab = slab(address);
+		int offset = offset(address);
+		return HEADER + slab.getInt(offset) + slab.getInt(offset + 4);
+	}
+
+	//returns true if the record at address has the given key bytes
+	@TimeComplexity("O(1)")
+	private boolean keyEquals(long address, byte[] key) {
+		//compares the key's bytes, which are a constant length for a given key
+
+		ByteBuffer slab = slab(address);
+		int offset = offset(address);
+		if (slab.getInt(offset) != key.length) {
+			return false;
+		}
+		offset += HEADER;
+		for (int i = 0; i < key.length; i++) {
+			if (slab.get(offset + i) != key[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	//decodes the key of the record at address
+	private K readKey(long address) {
+		ByteBuffer slab = slab(address);
+		int offset = offset(address);
+		return keyCodec.decode(slab, offset + HEADER, slab.getInt(offset));
+	}
+
+	//decodes the value of the record at address
+	private V readValue(long address) {
+		ByteBuffer slab = slab(address);
+		int offset = offset(address);
+		int keyLength = slab.getInt(offset);
+		return valueCodec.decode(slab, offset + HEADER + keyLength, slab.getInt(offset + 4));
+	}
+
+	//returns a slab with room for at least length more bytes, allocating a new one if the current one is full
+	private ByteBuffer slabFor(int length) {
+		if (slabCount > 0 && slabs[slabCount - 1].remaining() >= length) {
+			return slabs[slabCount - 1];
+		}
+		int next = (slabCount == 0) ? MIN_SLAB : Math.min(2 * slabs[slabCount - 1].capacity(), MAX_SLAB);
+		if (slabCount == slabs.length) {
+			slabs = Arrays.copyOf(slabs, 2 * slabs.length);
+		}
+		slabs[slabCount++] = ByteBuffer.allocateDirect(Math.max(next, length));
+		return slabs[slabCount - 1];
+	}
+
+	//appends a record and returns its address
+	@TimeComplexity("O(1)")
+	private long append(byte[] key, byte[] value) {
+		int length = HEADER + key.length + value.length;
+		ByteBuffer slab = slabFor(length);
+		long address = ((long) (slabCount - 1) << 32) | slab.position();
+		slab.putInt(key.length).putInt(value.length).put(key).put(value);
+		liveBytes += length;
+		return address;
+	}
+
+	//marks the record at address as garbage
+	private void discard(long address) {
+		int length = recordLength(address);
+		liveBytes -= length;
+		garbageBytes += length;
+	}
+
+	//replaces the value of the record at address, found in index slot j
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void store(int j, long address, byte[] key, byte[] value, int h) {
+		ByteBuffer slab = slab(address);
+		int offset = offset(address);
+		if (slab.getInt(offset + 4) == value.length) {
+			//same length, so the value can be overwritten where it is
+			slab.put(offset + HEADER + key.length, value);
+			return;
+		}
+		discard(address);
+		setSlot(j, append(key, value), h);
+		compactIfWasteful();
+	}
+
+	//copies every live record into new slabs once garbage outweighs them, so replaced and
+	//removed records don't hold on to memory
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void compactIfWasteful() {
+		//a compaction copies the live bytes, which are fewer than the garbage bytes made since
+		//the last one, so it adds O(1) amortized to each put or remove
+
+		if (garbageBytes <= liveBytes || garbageBytes < MIN_SLAB) {
+			return;
+		}
+		ByteBuffer[] oldSlabs = slabs;
+		slabs = new ByteBuffer[4];
+		slabCount = 0;
+		liveBytes = 0;
+		garbageBytes = 0;
+		for (int j = 0; j < capacity; j++) {
+			long address = addressAt(index, j);
+			if (address != -1) {
+				ByteBuffer slab = oldSlabs[(int) (address >>> 32)];
+				int offset = offset(address);
+				int length = HEADER + slab.getInt(offset) + slab.getInt(offset + 4);
+				ByteBuffer target = slabFor(length);
+				long moved = ((long) (slabCount - 1) << 32) | target.position();
+				target.put(target.position(), slab, offset, length);
+				target.position(target.position() + length);
+				liveBytes += length;
+				setSlot(j, moved, hashAt(index, j));
+			}
+		}
+	}
+
+	//return index slot holding given key bytes or -1 if key not found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(byte[] key, int h) {
+		//with a bounded load factor the expected probe length is constant
+
+		int mask = capacity - 1;
+		for (int j = h & mask; ; j = (j + 1) & mask) {
+			long address = addressAt(index, j);
+			if (address == -1) {
+				return -1;
+			}
+			if (hashAt(index, j) == h && keyEquals(address, key)) {
+				return j;
+			}
+		}
+	}
+
+	//stores a record's address in the first empty index slot from its home slot
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void insertSlot(long address, int h) {
+		int mask = capacity - 1;
+		int j = h & mask;
+		while (addressAt(index, j) != -1) {
+			j = (j + 1) & mask;
+		}
+		setSlot(j, address, h);
+	}
+
+	//empties index slot j and shifts following slots back so no tombstones are needed
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void deleteSlot(int j) {
+		//move a slot into the hole only if its home slot is not between the hole and the slot
+
+		int mask = capacity - 1;
+		int next = j;
+		while (true) {
+			next = (next + 1) & mask;
+			long address = addressAt(index, next);
+			if (address == -1) {
+				break;
+			}
+			int h = hashAt(index, next);
+			int home = h & mask;
+			boolean stays = (j <= next) ? (j < home && home <= next) : (j < home || home <= next);
+			if (!stays) {
+				setSlot(j, address, h);
+				j = next;
+			}
+		}
+		clearSlot(j);
+	}
+
+	//doubles the index if one more entry would pass the load factor
+	//at MAXIMUM_CAPACITY the index can't grow, and the last empty slot is kept so probes still end
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void growIfFull() {
+		if (size + 1 > capacity * loadfactor && capacity < MAXIMUM_CAPACITY) {
+			resize(2 * capacity);
+		}
+		if (size + 1 >= capacity) {
+			throw new IllegalStateException("Map is full");
+		}
+	}
+
+	//rebuilds the index at given capacity reusing the stored hashes, the records don't move
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		ByteBuffer[] oldIndex = index;
+		int oldCapacity = capacity;
+		capacity = cap;
+		index = createIndex(cap);
+		for (int j = 0; j < oldCapacity; j++) {
+			long address = addressAt(oldIndex, j);
+			if (address != -1) {
+				insertSlot(address, hashAt(oldIndex, j));
+			}
+		}
+	}
+
+	//throws IllegalStateException once the map is closed
+	private void ensureOpen() {
+		if (closed) {
+			throw new IllegalStateException("map is closed");
+		}
+	}
+
+	//functions
+	//
+
+	//drops every buffer, after which any other call but size, isEmpty and close throws IllegalStateException
+	@Override
+	@TimeComplexity("O(1)")
+	public void close() {
+		closed = true;
+		index = null;
+		slabs = null;
+		slabCount = 0;
+		size = 0;
+	}
+
+	//return number of bytes allocated outside the heap, index and slabs together
+	@TimeComplexity("O(n)")
+	public long offHeapBytes() {
+		ensureOpen();
+		long bytes = 0;
+		for (ByteBuffer chunk : index) {
+			bytes += chunk.capacity();
+		}
+		for (int s = 0; s < slabCount; s++) {
+			bytes += slabs[s].capacity();
+		}
+		return bytes;
+	}
+
+	//return total number of index slots
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return capacity;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return a copy of the value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//encodes the key and calls findSlot, which probes a constant number of slots on average
+
+		ensureOpen();
+		byte[] bytes = keyCodec.encode(key);
+		int j = findSlot(bytes, hash(bytes));
+		if (j == -1) {
+			return null;
+		}
+		return readValue(addressAt(index, j));
+	}
+
+	//adds entry to hash map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//calls findSlot, then either overwrites the value or appends one record;
+		//resizes and compactions are O(n) but amortize to O(1) per put
+
+		ensureOpen();
+		byte[] keyBytes = keyCodec.encode(key);
+		byte[] valueBytes = valueCodec.encode(value);
+		int h = hash(keyBytes);
+		int j = findSlot(keyBytes, h);
+		if (j != -1) {
+			long address = addressAt(index, j);
+			V old = readValue(address);
+			store(j, address, keyBytes, valueBytes, h);
+			return old;
+		}
+		growIfFull();
+		insertSlot(append(keyBytes, valueBytes), h);
+		size++;
+		return null;
+	}
+
+	//removes entry from hash map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//calls findSlot and deleteSlot, both touch a constant number of slots on average
+
+		ensureOpen();
+		byte[] bytes = keyCodec.encode(key);
+		int j = findSlot(bytes, hash(bytes));
+		if (j == -1) {
+			return null;
+		}
+		long address = addressAt(index, j);
+		V answer = readValue(address);
+		discard(address);
+		deleteSlot(j);
+		size--;
+		compactIfWasteful();
+		return answer;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//encodes the key and calls findSlot once, then at most one store, insertSlot or deleteSlot
+
+		ensureOpen();
+		byte[] keyBytes = keyCodec.encode(key);
+		int h = hash(keyBytes);
+		int j = findSlot(keyBytes, h);
+		long address = (j == -1) ? -1 : addressAt(index, j);
+		V value = remapping.apply(key, (j == -1) ? null : readValue(address));
+		if (j != -1 && value != null) {
+			store(j, address, keyBytes, valueCodec.encode(value), h);
+		}
+		else if (j != -1) {
+			discard(address);
+			deleteSlot(j);
+			size--;
+			compactIfWasteful();
+		}
+		else if (value != null) {
+			growIfFull();
+			insertSlot(append(keyBytes, valueCodec.encode(value)), h);
+			size++;
+		}
+		return value;
+	}
+
+	//private class for iterator, decodes each entry as it is reached
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = advance(0);
+
+		//return index of next occupied slot at or after n
+		private int advance(int n) {
+			while (n < capacity && addressAt(index, n) == -1) {
+				n++;
+			}
+			return n;
+		}
+
+		public boolean hasNext() {
+			return j < capacity;
+		}
+
+		public Entry<K,V> next(){
+			if (j >= capacity) {
+				throw new NoSuchElementException();
+			}
+			long address = addressAt(index, j);
+			Entry<K,V> answer = new mapEntry<>(readKey(address), readValue(address));
+			j = advance(j + 1);
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			ensureOpen();
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of copies of the entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//iteration walks every index slot once and decodes each record
+
+		ensureOpen();
+		return new EntryIterable();
+	}
+
+}
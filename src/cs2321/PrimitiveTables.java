@@ -0,0 +1,31 @@
+package cs2321;
+
+/*
+ * Table sizing shared by the primitive keyed maps (IntIntHashMap, LongLongHashMap,
+ * IntObjectHashMap, LongObjectHashMap). Their tables are power of two arrays indexed by
+ * int, so they stop growing at MAXIMUM_CAPACITY slots.
+ */
+
+final class PrimitiveTables {
+
+	//vars
+	//
+	static final int MAXIMUM_CAPACITY = 1 << 30; //largest power of two an int indexed array can have
+
+	//constructors
+	//
+
+	private PrimitiveTables() {
+	}
+
+	//functions
+	//
+
+	//round given size up to the next power of two, at least 2 and at most MAXIMUM_CAPACITY
+	static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 2) ? 2 : Integer.highestOneBit(n - 1) << 1;
+	}
+}
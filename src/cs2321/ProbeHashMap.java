@@ -0,0 +1,364 @@
+package cs2321;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Open addressing hash map. Keys, values and hashes are kept in flat parallel arrays
+ * so a lookup probes one array instead of walking bucket -> ArrayList -> mapEntry.
+ * Probing is either plain linear probing or Robin Hood probing, chosen at construction.
+ */
+
+public class ProbeHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//probing strategies
+	public enum Probing {
+		LINEAR,
+		ROBIN_HOOD
+	}
+
+	//vars
+	//
+	private K[] keys; //null marks an empty slot
+	private V[] values;
+	private int[] hashes; //spread hash of the key in the same slot
+	int 	size;  // number of mappings(entries)
+	int 	capacity; // The size of the hash table, always a power of two
+	int     DefaultCapacity = 16; //The default hash table size
+	static final int MAXIMUM_CAPACITY = 1 << 30; //largest power of two an int sized table can have
+	double  loadfactor = 0.75;
+	Probing probing;
+
+	//constructors
+	//
+
+	//instantiate with default capacity and linear probing
+	public ProbeHashMap() {
+		this(16, Probing.LINEAR);
+	}
+
+	//instantiate with given capacity and linear probing
+	public ProbeHashMap(int hashtablesize) {
+		this(hashtablesize, Probing.LINEAR);
+	}
+
+	//instantiate with given capacity and probing strategy
+	public ProbeHashMap(int hashtablesize, Probing probing) {
+		this.probing = probing;
+		capacity = tableSizeFor(hashtablesize);
+		size = 0;
+		createTable();
+	}
+
+	//utility
+	//
+
+	//round given size up to the next power of two, at most MAXIMUM_CAPACITY
+	private static int tableSizeFor(int n) {
+		if (n >= MAXIMUM_CAPACITY) {
+			return MAXIMUM_CAPACITY;
+		}
+		return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+	}
+
+	//instantiates the flat key, value and hash arrays
+	@SuppressWarnings("unchecked")
+	private void createTable() {
+		keys = (K[]) new Object[capacity];
+		values = (V[]) new Object[capacity];
+		hashes = new int[capacity];
+	}
+
+	//returns hash of key with the high bits folded into the low bits used for indexing
+	private int hash(K key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	//returns how far the entry in slot j sits from its home slot
+	private int probeDistance(int j) {
+		return (j - (hashes[j] & (capacity - 1))) & (capacity - 1);
+	}
+
+	//return slot holding given key or -1 if key not found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(K key, int h) {
+		//worst case every slot is probed before finding the key or an empty slot
+		//with a bounded load factor the expected probe length is constant
+
+		int mask = capacity - 1;
+		int j = h & mask;
+		for (int dist = 0; keys[j] != null; dist++) {
+			if (hashes[j] == h && keys[j].equals(key)) {
+				return j;
+			}
+			//robin hood keeps entries ordered by distance, so a closer entry means the key is absent
+			if (probing == Probing.ROBIN_HOOD && probeDistance(j) < dist) {
+				return -1;
+			}
+			j = (j + 1) & mask;
+		}
+		return -1;
+	}
+
+	//places a key that is known to be absent, returns the slot the key ended up in
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int insert(K key, V value, int h) {
+		int mask = capacity - 1;
+		int j = h & mask;
+		int slot = -1;
+		for (int dist = 0; keys[j] != null; dist++) {
+			if (probing == Probing.ROBIN_HOOD) {
+				int existing = probeDistance(j);
+				if (existing < dist) {
+					//steal the slot from the richer entry and keep placing the displaced one
+					K k = keys[j];
+					V v = values[j];
+					int eh = hashes[j];
+					keys[j] = key;
+					values[j] = value;
+					hashes[j] = h;
+					if (slot == -1) {
+						slot = j;
+					}
+					key = k;
+					value = v;
+					h = eh;
+					dist = existing;
+				}
+			}
+			j = (j + 1) & mask;
+		}
+		keys[j] = key;
+		values[j] = value;
+		hashes[j] = h;
+		return slot == -1 ? j : slot;
+	}
+
+	//empties slot j and shifts following entries back so no tombstones are needed
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void deleteSlot(int j) {
+		int mask = capacity - 1;
+		if (probing == Probing.ROBIN_HOOD) {
+			//backward shift every displaced entry by one
+			int next = (j + 1) & mask;
+			while (keys[next] != null && probeDistance(next) != 0) {
+				keys[j] = keys[next];
+				values[j] = values[next];
+				hashes[j] = hashes[next];
+				j = next;
+				next = (next + 1) & mask;
+			}
+		} else {
+			//move an entry into the hole only if its home slot is not between the hole and the entry
+			int next = j;
+			while (true) {
+				next = (next + 1) & mask;
+				if (keys[next] == null) {
+					break;
+				}
+				int home = hashes[next] & mask;
+				boolean stays = (j <= next) ? (j < home && home <= next) : (j < home || home <= next);
+				if (!stays) {
+					keys[j] = keys[next];
+					values[j] = values[next];
+					hashes[j] = hashes[next];
+					j = next;
+				}
+			}
+		}
+		keys[j] = null;
+		values[j] = null;
+		hashes[j] = 0;
+	}
+
+	//doubles the table if one more entry would pass the load factor
+	//at MAXIMUM_CAPACITY the table can't grow, and the last empty slot is kept so probes still end
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void growIfFull() {
+		if (size + 1 > capacity * loadfactor && capacity < MAXIMUM_CAPACITY) {
+			resize(2 * capacity);
+		}
+		if (size + 1 >= capacity) {
+			throw new IllegalStateException("Map is full");
+		}
+	}
+
+	//rebuild arrays at given capacity reusing the stored hashes
+	@TimeComplexity("O(n)")
+	private void resize(int cap) {
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		int[] oldHashes = hashes;
+		capacity = cap;
+		createTable();
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				insert(oldKeys[j], oldValues[j], oldHashes[j]);
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//return total length of array
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return keys.length;
+	}
+
+	//return probing strategy used by this map
+	@TimeComplexity("O(1)")
+	public Probing probing() {
+		return probing;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//calls findSlot, which probes a constant number of slots on average
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			return null;
+		}
+		return values[j];
+	}
+
+	//adds entry to hash map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//calls findSlot and insert, both probe a constant number of slots on average
+		//the occasional resize is O(n) but amortizes to O(1) per put
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		if (j != -1) {
+			V old = values[j];
+			values[j] = value;
+			return old;
+		}
+		growIfFull();
+		insert(key, value, h);
+		size++;
+		return null;
+	}
+
+	//removes entry from hash map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//calls findSlot and deleteSlot, both touch a constant number of slots on average
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			return null;
+		}
+		V answer = values[j];
+		deleteSlot(j);
+		size--;
+		return answer;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//hashes the key and calls findSlot once, then at most one insert or deleteSlot
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		V value = remapping.apply(key, (j == -1) ? null : values[j]);
+		if (j != -1 && value != null) {
+			values[j] = value;
+		}
+		else if (j != -1) {
+			deleteSlot(j);
+			size--;
+		}
+		else if (value != null) {
+			growIfFull();
+			insert(key, value, h);
+			size++;
+		}
+		return value;
+	}
+
+	//private class for iterator, builds each entry from the flat arrays as it is reached
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = advance(0);
+
+		//return index of next occupied slot at or after n
+		private int advance(int n) {
+			while (n < keys.length && keys[n] == null) {
+				n++;
+			}
+			return n;
+		}
+
+		public boolean hasNext() {
+			return j < keys.length;
+		}
+
+		public Entry<K,V> next(){
+			if (j >= keys.length) {
+				throw new NoSuchElementException();
+			}
+			Entry<K,V> answer = new mapEntry<>(keys[j], values[j]);
+			j = advance(j + 1);
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//iteration walks every slot of the table once
+
+		return new EntryIterable();
+	}
+
+}
@@ -0,0 +1,365 @@
+package cs2321;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+import net.datastructures.Map;
+
+/*
+ * Open addressing hash map in the style of SwissTable: next to the flat key and value arrays
+ * it keeps one control byte per slot, 8 of them packed into a long per group of 8 slots.
+ * A control byte is EMPTY, DELETED, or for a full slot the low 7 bits of the key's hash (H2).
+ * The rest of the hash (H1) picks the first group, and groups are probed triangularly.
+ * A probe compares H2 against all 8 control bytes of a group at once with word level bit
+ * tricks, so keys are only touched on a 7 bit match (1 in 128 for a different key), and a
+ * group with an EMPTY byte ends the probe. That makes misses cheap, they rarely touch a key.
+ */
+
+public class SwissHashMap<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//vars
+	//
+	static final int GROUP = 8; //slots per group, one control byte each
+	static final long EMPTY = 0x80L; //control byte of a slot never used since the last rebuild
+	static final long DELETED = 0xFEL; //control byte of a removed entry, probes continue past it
+	static final long LSBS = 0x0101010101010101L; //low bit of every control byte
+	static final long MSBS = 0x8080808080808080L; //high bit of every control byte
+	static final long ALL_EMPTY = EMPTY * LSBS;
+	static final int MAXIMUM_GROUPS = (1 << 30) / GROUP; //keeps the slot arrays within the largest power of two an int can index
+
+	private long[] ctrl; //one long per group, slot s of the group in byte s
+	private K[] keys;
+	private V[] values;
+	int 	size;  // number of mappings(entries)
+	int 	deleted; // number of DELETED control bytes
+	int 	groups; // number of groups, always a power of two
+	double  loadfactor = 0.875; //full and DELETED slots together may fill 7 of every 8 slots
+
+	//constructors
+	//
+
+	//instantiate with default capacity
+	public SwissHashMap() {
+		this(16);
+	}
+
+	//instantiate with room for at least the given number of slots
+	public SwissHashMap(int hashtablesize) {
+		groups = groupsFor(hashtablesize);
+		createTable();
+	}
+
+	//utility
+	//
+
+	//number of groups holding at least n slots, a power of two from 2 to MAXIMUM_GROUPS
+	private static int groupsFor(int n) {
+		int g = n / GROUP + ((n % GROUP == 0) ? 0 : 1);
+		if (g >= MAXIMUM_GROUPS) {
+			return MAXIMUM_GROUPS;
+		}
+		return (g <= 2) ? 2 : Integer.highestOneBit(g - 1) << 1;
+	}
+
+	//instantiates all slots empty for the current number of groups
+	@SuppressWarnings("unchecked")
+	private void createTable() {
+		ctrl = new long[groups];
+		Arrays.fill(ctrl, ALL_EMPTY);
+		keys = (K[]) new Object[groups * GROUP];
+		values = (V[]) new Object[groups * GROUP];
+		deleted = 0;
+	}
+
+	//returns the hash code of key mixed so both H1 and H2 depend on every bit
+	private static int hash(Object key) {
+		return HashStrategy.mix(key.hashCode());
+	}
+
+	//returns the group a probe for hash h starts at
+	private int h1(int h) {
+		return (h >>> 7) & (groups - 1);
+	}
+
+	//returns the control byte of a full slot for hash h
+	private static long h2(int h) {
+		return h & 0x7F;
+	}
+
+	//returns a mask with the high bit set in every byte of group that may equal h2
+	//can report a false match next to a real one, callers compare keys anyway
+	private static long match(long group, long h2) {
+		long x = group ^ (h2 * LSBS);
+		return (x - LSBS) & ~x & MSBS;
+	}
+
+	//returns a mask with the high bit set in every EMPTY byte of group
+	private static long matchEmpty(long group) {
+		//EMPTY is the only control byte with bit 7 set and bit 1 clear
+		return group & ~(group << 6) & MSBS;
+	}
+
+	//returns a mask with the high bit set in every EMPTY or DELETED byte of group
+	private static long matchFree(long group) {
+		//EMPTY and DELETED are the only control bytes with bit 7 set and bit 0 clear
+		return group & ~(group << 7) & MSBS;
+	}
+
+	//returns the slot within its group of the lowest byte set in mask
+	private static int lowest(long mask) {
+		return Long.numberOfTrailingZeros(mask) >>> 3;
+	}
+
+	//sets the control byte of slot j
+	private void setCtrl(int j, long c) {
+		int shift = (j & (GROUP - 1)) << 3;
+		ctrl[j / GROUP] = (ctrl[j / GROUP] & ~(0xFFL << shift)) | (c << shift);
+	}
+
+	//return slot holding given key or -1 if key not found
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findSlot(K key, int h) {
+		//at most 7/8 of the slots are used, so a probe expects to visit about one group;
+		//a key is only compared when its control byte matches H2
+
+		long h2 = h2(h);
+		int g = h1(h);
+		for (int step = 1; step <= groups; step++) {
+			long group = ctrl[g];
+			for (long m = match(group, h2); m != 0; m &= m - 1) {
+				int j = g * GROUP + lowest(m);
+				if (key.equals(keys[j])) {
+					return j;
+				}
+			}
+			if (matchEmpty(group) != 0) {
+				return -1;
+			}
+			//triangular steps visit every group of a power of two table
+			g = (g + step) & (groups - 1);
+		}
+		return -1;
+	}
+
+	//return first EMPTY or DELETED slot on the probe sequence of hash h
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private int findFree(int h) {
+		int g = h1(h);
+		for (int step = 1; ; step++) {
+			long m = matchFree(ctrl[g]);
+			if (m != 0) {
+				return g * GROUP + lowest(m);
+			}
+			g = (g + step) & (groups - 1);
+		}
+	}
+
+	//stores a key that is known to be absent, growing or cleaning the table first if needed
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void insert(K key, V value, int h) {
+		if (size + deleted + 1 > groups * GROUP * loadfactor) {
+			//mostly DELETED bytes: rebuild at the same size to clear them, otherwise double
+			boolean grow = size + 1 > groups * GROUP * loadfactor / 2 && groups < MAXIMUM_GROUPS;
+			rehash(grow ? 2 * groups : groups);
+		}
+		if (size + 1 >= groups * GROUP) {
+			//only reachable at MAXIMUM_GROUPS, probing needs at least one free slot
+			throw new IllegalStateException("Map is full");
+		}
+		int j = findFree(h);
+		if (((ctrl[j / GROUP] >>> ((j & (GROUP - 1)) << 3)) & 0xFFL) == DELETED) {
+			deleted--;
+		}
+		setCtrl(j, h2(h));
+		keys[j] = key;
+		values[j] = value;
+		size++;
+	}
+
+	//empties slot j
+	@TimeComplexity("O(1)")
+	private void deleteSlot(int j) {
+		//a group that still has an EMPTY byte was never full, so no probe went on past it
+		//and the slot can be EMPTY again; otherwise later probes must not stop here
+
+		if (matchEmpty(ctrl[j / GROUP]) != 0) {
+			setCtrl(j, EMPTY);
+		}
+		else {
+			setCtrl(j, DELETED);
+			deleted++;
+		}
+		keys[j] = null;
+		values[j] = null;
+		size--;
+	}
+
+	//moves every entry into a new table of cap groups, dropping DELETED bytes
+	@TimeComplexity("O(n)")
+	private void rehash(int cap) {
+		long[] oldCtrl = ctrl;
+		K[] oldKeys = keys;
+		V[] oldValues = values;
+		groups = cap;
+		createTable();
+		for (int g = 0; g < oldCtrl.length; g++) {
+			//full slots are the bytes with the high bit clear
+			for (long m = ~oldCtrl[g] & MSBS; m != 0; m &= m - 1) {
+				int j = g * GROUP + lowest(m);
+				int h = hash(oldKeys[j]);
+				int free = findFree(h);
+				setCtrl(free, h2(h));
+				keys[free] = oldKeys[j];
+				values[free] = oldValues[j];
+			}
+		}
+	}
+
+	//functions
+	//
+
+	//return total number of slots
+	@TimeComplexity("O(1)")
+	public int tableSize() {
+		return keys.length;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	//return value associated with given key or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//calls findSlot, which usually reads one control word and at most one key
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			return null;
+		}
+		return values[j];
+	}
+
+	//adds entry to hash map, returns value of entry overridden or null if new insertion
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//calls findSlot and insert; a rehash is O(n) but only happens after O(n) inserts
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		if (j != -1) {
+			V old = values[j];
+			values[j] = value;
+			return old;
+		}
+		insert(key, value, h);
+		return null;
+	}
+
+	//removes entry from hash map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		//calls findSlot and deleteSlot, the table never shrinks
+
+		int j = findSlot(key, hash(key));
+		if (j == -1) {
+			return null;
+		}
+		V answer = values[j];
+		deleteSlot(j);
+		return answer;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//hashes the key and calls findSlot once, then at most one insert or deleteSlot
+
+		int h = hash(key);
+		int j = findSlot(key, h);
+		V value = remapping.apply(key, (j == -1) ? null : values[j]);
+		if (j != -1 && value != null) {
+			values[j] = value;
+		}
+		else if (j != -1) {
+			deleteSlot(j);
+		}
+		else if (value != null) {
+			insert(key, value, h);
+		}
+		return value;
+	}
+
+	//private class for iterator, builds each entry from the flat arrays as it is reached
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private int j = advance(0);
+
+		//return index of next full slot at or after n
+		private int advance(int n) {
+			while (n < keys.length && keys[n] == null) {
+				n++;
+			}
+			return n;
+		}
+
+		public boolean hasNext() {
+			return j < keys.length;
+		}
+
+		public Entry<K,V> next(){
+			if (j >= keys.length) {
+				throw new NoSuchElementException();
+			}
+			Entry<K,V> answer = new mapEntry<>(keys[j], values[j]);
+			j = advance(j + 1);
+			return answer;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries in map
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		//iteration walks every slot of the table once
+
+		return new EntryIterable();
+	}
+
+}
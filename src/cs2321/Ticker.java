@@ -0,0 +1,19 @@
+package cs2321;
+
+/*
+ * Source of the current time in nanoseconds for caches that expire entries.
+ * Only differences between readings matter, so any monotonic clock works; tests can
+ * supply one they advance by hand.
+ */
+
+@FunctionalInterface
+public interface Ticker {
+
+	//returns the current time in nanoseconds
+	long read();
+
+	//System.nanoTime()
+	static Ticker system() {
+		return System::nanoTime;
+	}
+}
@@ -0,0 +1,377 @@
+package cs2321;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.*;
+
+/*
+ * Bounded cache using W-TinyLFU: frequency decides which entries are worth keeping.
+ * New entries go to a small window LRU (1% of the maximum). An entry leaving the window
+ * has to beat the main space's next victim on the estimated access frequency kept by a
+ * FrequencySketch, or it is dropped instead. That keeps entries seen only once, such as a
+ * scan, from pushing out popular ones.
+ * The main space is a segmented LRU: admitted entries start in probation, a hit there
+ * promotes them to protected (80% of the main space), and protected overflow is demoted
+ * back to probation, so the victim is the least recently used entry without repeat hits.
+ */
+
+public class TinyLFUCache<K, V> extends AbstractMap<K,V> implements Map<K, V> {
+
+	//nested classes
+	//
+
+	//the list an entry is on
+	enum Queue {WINDOW, PROBATION, PROTECTED}
+
+	//cached entry, remembers its list and its place there so it can be moved without a search
+	static class Node<K,V> extends mapEntry<K,V> {
+		Queue queue;
+		Position<Node<K,V>> position;
+
+		Node(K key, V value) {
+			super(key, value);
+		}
+	}
+
+	//vars
+	//
+	private HashMap<K, Node<K,V>> data;
+	private DoublyLinkedList<Node<K,V>> window = new DoublyLinkedList<>(); //least recently used first
+	private DoublyLinkedList<Node<K,V>> probation = new DoublyLinkedList<>();
+	private DoublyLinkedList<Node<K,V>> protectedQueue = new DoublyLinkedList<>();
+	private FrequencySketch<K> sketch;
+	private EvictionListener<? super K, ? super V> listener; //null if nobody listens
+	private final int maxEntries;
+	private final int maxWindow;
+	private final int maxProtected;
+	int     modCount = 0; //number of structural changes, lets iterators detect concurrent modification
+	private long hits = 0;
+	private long misses = 0;
+	private long evictions = 0;
+
+	//constructors
+	//
+
+	//instantiate holding at most maxEntries entries
+	public TinyLFUCache(int maxEntries) {
+		this(maxEntries, null);
+	}
+
+	//instantiate holding at most maxEntries entries, telling listener about every eviction
+	public TinyLFUCache(int maxEntries, EvictionListener<? super K, ? super V> listener) {
+		if (maxEntries < 0) {
+			throw new IllegalArgumentException("maximum size must not be negative");
+		}
+		this.maxEntries = maxEntries;
+		this.listener = listener;
+		maxWindow = Math.max(1, maxEntries / 100);
+		maxProtected = (int) (0.8 * Math.max(0, maxEntries - maxWindow));
+		data = new HashMap<>(16);
+		sketch = new FrequencySketch<>(maxEntries);
+	}
+
+	//utility
+	//
+
+	//returns the list holding entries of the given queue
+	private DoublyLinkedList<Node<K,V>> list(Queue queue) {
+		switch (queue) {
+		case WINDOW:
+			return window;
+		case PROBATION:
+			return probation;
+		default:
+			return protectedQueue;
+		}
+	}
+
+	//appends node as the most recently used entry of queue
+	@TimeComplexity("O(1)")
+	private Node<K,V> link(Node<K,V> node, Queue queue) {
+		node.queue = queue;
+		node.position = list(queue).addLast(node);
+		return node;
+	}
+
+	//takes node off its list
+	@TimeComplexity("O(1)")
+	private void unlink(Node<K,V> node) {
+		list(node.queue).remove(node.position);
+		node.position = null;
+	}
+
+	//records a hit on node: window and protected entries become most recently used,
+	//a probation entry is promoted to protected
+	@TimeComplexity("O(1)")
+	private void onAccess(Node<K,V> node) {
+		modCount++;
+		if (node.queue != Queue.PROBATION) {
+			list(node.queue).moveLast(node.position);
+			return;
+		}
+		unlink(node);
+		link(node, Queue.PROTECTED);
+		if (protectedQueue.size() > maxProtected) {
+			//demoted entries get another chance in probation before they are victims
+			link(protectedQueue.removeFirst(), Queue.PROBATION);
+		}
+	}
+
+	//returns true if candidate should replace victim in the main space, i.e. it was seen more often
+	@TimeComplexity("O(1)")
+	private boolean admit(Node<K,V> candidate, Node<K,V> victim) {
+		return sketch.frequency(candidate.key) > sketch.frequency(victim.key);
+	}
+
+	//drops node from the cache as an eviction
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void evictNode(Node<K,V> node) {
+		unlink(node);
+		data.remove(node.key);
+		evictions++;
+		if (listener != null) {
+			listener.onEviction(node.key, node.value);
+		}
+	}
+
+	//moves window overflow into probation, and whenever the cache is over its maximum,
+	//evicts either that candidate or the main space's victim, whichever is less frequent
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void evict() {
+		//a put adds one entry, so this moves at most one entry and evicts at most one
+
+		while (window.size() > maxWindow) {
+			Node<K,V> candidate = window.removeFirst();
+			link(candidate, Queue.PROBATION);
+			if (data.size() <= maxEntries) {
+				continue;
+			}
+			Node<K,V> victim = probation.first().getElement();
+			if (victim == candidate && !protectedQueue.isEmpty()) {
+				victim = protectedQueue.first().getElement();
+			}
+			if (victim == candidate || !admit(candidate, victim)) {
+				evictNode(candidate);
+			}
+			else {
+				evictNode(victim);
+			}
+		}
+		while (data.size() > maxEntries) {
+			//the window is within its share yet the cache is still over, as when maxEntries is 0 or
+			//the window and probation were emptied by removes; evict from the first queue holding any
+			DoublyLinkedList<Node<K,V>> queue = !window.isEmpty() ? window : !probation.isEmpty() ? probation : protectedQueue;
+			evictNode(queue.first().getElement());
+		}
+	}
+
+	//functions
+	//
+
+	//sets who is told about evictions, null for nobody
+	@TimeComplexity("O(1)")
+	public void setEvictionListener(EvictionListener<? super K, ? super V> listener) {
+		this.listener = listener;
+	}
+
+	//returns the maximum number of entries
+	@TimeComplexity("O(1)")
+	public int maxEntries() {
+		return maxEntries;
+	}
+
+	//returns the estimated recent access frequency of key, whether or not it is cached
+	@TimeComplexity("O(1)")
+	public int frequency(K key) {
+		return sketch.frequency(key);
+	}
+
+	//returns number of get calls that found their key
+	@TimeComplexity("O(1)")
+	public long hitCount() {
+		return hits;
+	}
+
+	//returns number of get calls that didn't find their key
+	@TimeComplexity("O(1)")
+	public long missCount() {
+		return misses;
+	}
+
+	//returns number of entries dropped to stay within the maximum size, including rejected candidates
+	@TimeComplexity("O(1)")
+	public long evictionCount() {
+		return evictions;
+	}
+
+	//returns fraction of get calls that were hits, 0 before the first get
+	@TimeComplexity("O(1)")
+	public double hitRate() {
+		long requests = hits + misses;
+		return (requests == 0) ? 0 : (double) hits / requests;
+	}
+
+	//clears the hit, miss and eviction counters
+	@TimeComplexity("O(1)")
+	public void resetStats() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+	//return number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return data.size();
+	}
+
+	//returns true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return data.isEmpty();
+	}
+
+	//return value associated with given key or null if no entry found
+	//every call counts towards the key's frequency, hit or miss
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V get(K key) {
+		//one HashMap.get, a sketch update and at most two list moves
+
+		sketch.increment(key);
+		Node<K,V> node = data.get(key);
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		onAccess(node);
+		return node.value;
+	}
+
+	//adds entry to the cache, returns value of entry overridden or null if new insertion
+	//a new entry starts in the window and may be evicted straight away if it never gets popular
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V put(K key, V value) {
+		//one HashMap.computeIfAbsent both finds an existing key and stores a new one
+
+		sketch.increment(key);
+		int oldSize = data.size();
+		Node<K,V> node = data.computeIfAbsent(key, k -> link(new Node<>(k, value), Queue.WINDOW));
+		if (data.size() != oldSize) {
+			modCount++;
+			evict();
+			return null;
+		}
+		onAccess(node);
+		V old = node.value;
+		node.value = value;
+		return old;
+	}
+
+	//removes entry from map, then return value of removed entry or null if no entry found
+	@Override
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V remove(K key) {
+		Node<K,V> node = data.remove(key);
+		if (node == null) {
+			return null;
+		}
+		unlink(node);
+		modCount++;
+		return node.value;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value; counts towards the key's frequency but not as a hit or miss
+	@Override
+	@SuppressWarnings("unchecked")
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//the lists are updated from inside one HashMap.compute, so the key is only searched once
+
+		sketch.increment(key);
+		int oldSize = data.size();
+		V[] result = (V[]) new Object[1];
+		data.compute(key, (k, node) -> {
+			V value = remapping.apply(k, (node == null) ? null : node.value);
+			result[0] = value;
+			if (value == null) {
+				if (node != null) {
+					unlink(node);
+				}
+				return null;
+			}
+			if (node == null) {
+				return link(new Node<>(k, value), Queue.WINDOW);
+			}
+			onAccess(node);
+			node.value = value;
+			return node;
+		});
+		if (data.size() != oldSize) {
+			modCount++;
+			evict();
+		}
+		return result[0];
+	}
+
+	//private class for iterator, walks the window, then probation, then protected
+	//throws ConcurrentModificationException if the cache is changed during iteration,
+	//which includes get since hits move entries
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		private final int expectedModCount = modCount;
+		private Queue queue = Queue.WINDOW;
+		private Iterator<Node<K,V>> current = window.iterator();
+
+		public boolean hasNext() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			while (!current.hasNext() && queue != Queue.PROTECTED) {
+				queue = (queue == Queue.WINDOW) ? Queue.PROBATION : Queue.PROTECTED;
+				current = list(queue).iterator();
+			}
+			return current.hasNext();
+		}
+
+		public Entry<K,V> next(){
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return current.next();
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection of entries, window first
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
@@ -0,0 +1,345 @@
+package cs2321;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+import net.datastructures.Entry;
+
+/*
+ * Balanced (AVL) bucket used by HashMap once a chain of colliding keys grows too long.
+ * Entries are ordered by hash code first and by compareTo second, so it can only hold
+ * keys of a single Comparable class whose compareTo is consistent with equals.
+ */
+
+public class TreeBucket<K,V> extends AbstractMap<K,V> {
+
+	//nested classes
+	//
+
+	//tree node, doubles as the entry handed out by entrySet
+	private static class Node<K,V> extends mapEntry<K,V> {
+		int height = 1;
+		Node<K,V> left;
+		Node<K,V> right;
+
+		public Node(K key, V value, int hash) {
+			super(key, value, hash);
+		}
+	}
+
+	//vars
+	//
+	private Node<K,V> root = null;
+	private int size = 0;
+	private V found; //value replaced or removed by the last put/remove
+
+	//constructors
+	//
+	public TreeBucket() {
+
+	}
+
+	//utility
+	//
+
+	//returns height of node, 0 for an empty subtree
+	private int height(Node<K,V> n) {
+		return n == null ? 0 : n.height;
+	}
+
+	//recomputes height of node from its children
+	private void update(Node<K,V> n) {
+		n.height = 1 + Math.max(height(n.left), height(n.right));
+	}
+
+	//orders by hash first, then by the natural order of the keys
+	@SuppressWarnings("unchecked")
+	private int compare(K key, int hash, Node<K,V> n) {
+		if (hash != n.hash) {
+			return hash < n.hash ? -1 : 1;
+		}
+		return ((Comparable<Object>) key).compareTo(n.key);
+	}
+
+	@TimeComplexity("O(1)")
+	private Node<K,V> rotateRight(Node<K,V> n) {
+		Node<K,V> l = n.left;
+		n.left = l.right;
+		l.right = n;
+		update(n);
+		update(l);
+		return l;
+	}
+
+	@TimeComplexity("O(1)")
+	private Node<K,V> rotateLeft(Node<K,V> n) {
+		Node<K,V> r = n.right;
+		n.right = r.left;
+		r.left = n;
+		update(n);
+		update(r);
+		return r;
+	}
+
+	//restores the AVL height property at node n, returns the new subtree root
+	@TimeComplexity("O(1)")
+	private Node<K,V> rebalance(Node<K,V> n) {
+		update(n);
+		int balance = height(n.left) - height(n.right);
+		if (balance > 1) {
+			if (height(n.left.left) < height(n.left.right)) {
+				n.left = rotateLeft(n.left);
+			}
+			return rotateRight(n);
+		}
+		if (balance < -1) {
+			if (height(n.right.right) < height(n.right.left)) {
+				n.right = rotateRight(n.right);
+			}
+			return rotateLeft(n);
+		}
+		return n;
+	}
+
+	//return node holding given key or null
+	@TimeComplexity("O(lg n)")
+	private Node<K,V> find(K key, int hash) {
+		Node<K,V> n = root;
+		while (n != null) {
+			int comp = compare(key, hash, n);
+			if (comp == 0) {
+				return n;
+			}
+			n = comp < 0 ? n.left : n.right;
+		}
+		return null;
+	}
+
+	@TimeComplexity("O(lg n)")
+	private Node<K,V> insert(Node<K,V> n, K key, V value, int hash) {
+		if (n == null) {
+			size++;
+			return new Node<>(key, value, hash);
+		}
+		int comp = compare(key, hash, n);
+		if (comp == 0) {
+			found = n.value;
+			n.value = value;
+			return n;
+		}
+		if (comp < 0) {
+			n.left = insert(n.left, key, value, hash);
+		}
+		else {
+			n.right = insert(n.right, key, value, hash);
+		}
+		return rebalance(n);
+	}
+
+	@TimeComplexity("O(lg n)")
+	private Node<K,V> delete(Node<K,V> n, K key, int hash) {
+		if (n == null) {
+			return null;
+		}
+		int comp = compare(key, hash, n);
+		if (comp < 0) {
+			n.left = delete(n.left, key, hash);
+		}
+		else if (comp > 0) {
+			n.right = delete(n.right, key, hash);
+		}
+		else {
+			found = n.value;
+			size--;
+			if (n.left == null) {
+				return n.right;
+			}
+			if (n.right == null) {
+				return n.left;
+			}
+			//replace with the smallest node of the right subtree
+			Node<K,V> succ = n.right;
+			while (succ.left != null) {
+				succ = succ.left;
+			}
+			succ.right = detachMin(n.right);
+			succ.left = n.left;
+			n = succ;
+		}
+		return rebalance(n);
+	}
+
+	//removes the smallest node of the subtree, returns the new subtree root
+	@TimeComplexity("O(lg n)")
+	private Node<K,V> detachMin(Node<K,V> n) {
+		if (n.left == null) {
+			return n.right;
+		}
+		n.left = detachMin(n.left);
+		return rebalance(n);
+	}
+
+	//functions
+	//
+
+	//returns true if the key can be ordered against the keys already in the bucket
+	@TimeComplexity("O(1)")
+	public boolean accepts(K key) {
+		return key instanceof Comparable && (root == null || key.getClass() == root.key.getClass());
+	}
+
+	//returns number of elements in map
+	@Override
+	@TimeComplexity("O(1)")
+	public int size() {
+		return size;
+	}
+
+	//return true if map is empty
+	@Override
+	@TimeComplexity("O(1)")
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	//return V linked to given K key, or null if key not found
+	@Override
+	@TimeComplexity("O(lg n)")
+	public V get(K key) {
+		return get(key, key.hashCode());
+	}
+
+	@Override
+	@TimeComplexity("O(lg n)")
+	V get(K key, int hash) {
+		//the tree height is kept within 1.44 lg n by rebalancing
+
+		if (!accepts(key)) {
+			return null;
+		}
+		Node<K,V> n = find(key, hash);
+		return n == null ? null : n.value;
+	}
+
+	//puts V value into map at given K key, returns previous value or null if key not found
+	@Override
+	@TimeComplexity("O(lg n)")
+	public V put(K key, V value) {
+		return put(key, value, key.hashCode());
+	}
+
+	@Override
+	@TimeComplexity("O(lg n)")
+	V put(K key, V value, int hash) {
+		//one root to leaf walk plus a constant number of rotations per level
+
+		if (!accepts(key)) {
+			throw new IllegalArgumentException("key is not comparable with the keys in this bucket");
+		}
+		found = null;
+		root = insert(root, key, value, hash);
+		return found;
+	}
+
+	//removes entry with given K key, returns value of removed entry
+	@Override
+	@TimeComplexity("O(lg n)")
+	public V remove(K key) {
+		return remove(key, key.hashCode());
+	}
+
+	@Override
+	@TimeComplexity("O(lg n)")
+	V remove(K key, int hash) {
+		//one root to leaf walk plus a constant number of rotations per level
+
+		if (!accepts(key)) {
+			return null;
+		}
+		found = null;
+		root = delete(root, key, hash);
+		return found;
+	}
+
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(lg n)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return compute(key, key.hashCode(), remapping);
+	}
+
+	@Override
+	@TimeComplexity("O(lg n)")
+	V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//updating an existing key is a single walk, inserting or removing walks the path again
+
+		if (!accepts(key)) {
+			throw new IllegalArgumentException("key is not comparable with the keys in this bucket");
+		}
+		Node<K,V> n = find(key, hash);
+		V value = remapping.apply(key, (n == null) ? null : n.value);
+		if (n != null && value != null) {
+			n.value = value;
+		}
+		else if (n != null) {
+			root = delete(root, key, hash);
+		}
+		else if (value != null) {
+			root = insert(root, key, value, hash);
+		}
+		return value;
+	}
+
+	//private class for in order iterator, keeps the path to the next node on a stack
+	private class EntryIterator implements Iterator<Entry<K,V>>{
+
+		@SuppressWarnings("unchecked")
+		private Node<K,V>[] stack = (Node<K,V>[]) new Node[height(root) + 1];
+		private int top = 0;
+
+		public EntryIterator() {
+			pushLeft(root);
+		}
+
+		private void pushLeft(Node<K,V> n) {
+			while (n != null) {
+				stack[top++] = n;
+				n = n.left;
+			}
+		}
+
+		public boolean hasNext() {
+			return top > 0;
+		}
+
+		public Entry<K,V> next(){
+			if (top == 0) {
+				throw new NoSuchElementException();
+			}
+			Node<K,V> n = stack[--top];
+			pushLeft(n.right);
+			return n;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	//private class for iterable
+	private class EntryIterable implements Iterable<Entry<K,V>>{
+		public Iterator<Entry<K,V>> iterator(){
+			return new EntryIterator();
+		}
+	}
+
+	//returns iterable collection ordered by hash code
+	@Override
+	@TimeComplexity("O(n)")
+	public Iterable<Entry<K, V>> entrySet() {
+		return new EntryIterable();
+	}
+
+}
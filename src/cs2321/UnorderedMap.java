@@ -1,8 +1,10 @@
 package cs2321;
 
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
 
 import net.datastructures.Entry;
 
@@ -10,27 +12,54 @@ public class UnorderedMap<K,V> extends AbstractMap<K,V> {
 	
 	//vars
 	//
-	private ArrayList<mapEntry<K,V>> table = new ArrayList<>();
+	static final int INITIAL_CAPACITY = 2; //most HashMap buckets hold one or two entries
+	
+	//entry j is keys[j], values[j] with hashes[j] the cached hash of its key, no entry objects are kept
+	private K[] keys;
+	private V[] values;
+	private int[] hashes;
+	private int size = 0;
 	
 	//constructors
 	//
+	@SuppressWarnings("unchecked")
 	public UnorderedMap() {
-		
+		keys = (K[]) new Object[INITIAL_CAPACITY];
+		values = (V[]) new Object[INITIAL_CAPACITY];
+		hashes = new int[INITIAL_CAPACITY];
 	}
 
 	//utility
 	//
 	
-	//find index of entry given a K key
+	//appends a new entry, doubling the arrays when they are full
+	@TimeComplexity("O(n)")
+	@TimeComplexityExpected("O(1)")
+	private void addLast(K key, V value, int hash) {
+		//a doubling copies every entry, but only after as many appends, so appends amortize to O(1)
+		
+		if (size == keys.length) {
+			keys = Arrays.copyOf(keys, 2 * size);
+			values = Arrays.copyOf(values, 2 * size);
+			hashes = Arrays.copyOf(hashes, 2 * size);
+		}
+		keys[size] = key;
+		values[size] = value;
+		hashes[size] = hash;
+		size++;
+	}
+	
+	//find index of entry given a K key and its hash
 	@TimeComplexity("O(n)")
-	private int findIndex(K key) {
+	private int findIndex(K key, int hash) {
 		//worst case the key is not found in the table, in this case the entire table needs to be looped through
 		//this leaves you with O(n)
 		
-		int n = table.size();
-		//loop through all values in table until one is found with a key equal to given key, then return index
-		for(int j = 0; j < n; j++) {
-			if(table.get(j).getKey().equals(key)) {
+		//loop through all hashes until one is found with a key equal to given key, then return index
+		//the cached hashes are compared first so equals() only runs on likely matches,
+		//and they sit in one int array so the scan doesn't follow a pointer per entry
+		for(int j = 0; j < size; j++) {
+			if(hashes[j] == hash && keys[j].equals(key)) {
 				return j;
 			}
 		}
@@ -42,32 +71,56 @@ public class UnorderedMap<K,V> extends AbstractMap<K,V> {
 	//functions
 	//
 	
+	//returns key of entry j, for j = 0...size()-1, so HashMap can move entries without entry objects
+	@TimeComplexity("O(1)")
+	K keyAt(int j) {
+		return keys[j];
+	}
+	
+	//returns value of entry j
+	@TimeComplexity("O(1)")
+	V valueAt(int j) {
+		return values[j];
+	}
+	
+	//returns cached hash of entry j
+	@TimeComplexity("O(1)")
+	int hashAt(int j) {
+		return hashes[j];
+	}
+	
 	//returns number of elements in map
 	@Override
 	@TimeComplexity("O(1)")
 	public int size() {
-		return table.size();
+		return size;
 	}
 
 	//return true if map is empty
 	@Override
 	@TimeComplexity("O(1)")
 	public boolean isEmpty() {
-		return table.size() == 0;
+		return size == 0;
 	}
 
 	//return V linked to given K key, or null if key not found
 	@Override
 	@TimeComplexity("O(n)")
 	public V get(K key) {
+		return get(key, key.hashCode());
+	}
+	
+	@Override
+	@TimeComplexity("O(n)")
+	V get(K key, int hash) {
 		//calls findIndex then does static actions
 		//has same complexity as findIndex, O(n)
 		
-		int j = findIndex(key);
+		int j = findIndex(key, hash);
 		if (j == -1) {
 			return null;
 		}
-		return table.get(j).getValue();
+		return values[j];
 	}
 
 	//puts V value into map at given K key, if no key in map, creates new entry
@@ -75,16 +128,22 @@ public class UnorderedMap<K,V> extends AbstractMap<K,V> {
 	@Override
 	@TimeComplexity("O(n)")
 	public V put(K key, V value) {
+		return put(key, value, key.hashCode());
+	}
+	
+	@Override
+	@TimeComplexity("O(n)")
+	V put(K key, V value, int hash) {
 		//calls findIndex then does static actions
 		//has same complexity as findIndex, O(n)
 		
-		int j = findIndex(key);
+		int j = findIndex(key, hash);
 		if (j == -1) {
-			table.addLast(new mapEntry<>(key, value));
+			addLast(key, value, hash);
 			return null;
 		} else {
-			V temp = table.get(j).getValue();
-			table.get(j).setValue(value);
+			V temp = values[j];
+			values[j] = value;
 			return temp;
 		}
 	}
@@ -94,36 +153,83 @@ public class UnorderedMap<K,V> extends AbstractMap<K,V> {
 	@Override
 	@TimeComplexity("O(n)")
 	public V remove(K key) {
+		return remove(key, key.hashCode());
+	}
+	
+	@Override
+	@TimeComplexity("O(n)")
+	V remove(K key, int hash) {
 		//calls findIndex then does static actions
 		//has same complexity as findIndex, O(n)
 		
-		int j = findIndex(key);
-		int n = size();
+		int j = findIndex(key, hash);
 		if (j == -1) {
 			return null;
 		}
-		V answer = table.get(j).getValue();
-		if (j != n - 1) {
-			table.set(j, table.get(n-1));
-		}
-		table.remove(n-1);
+		return removeAt(j);
+	}
+	
+	//removes entry at index j by moving the last entry into its place, returns its value
+	@TimeComplexity("O(1)")
+	private V removeAt(int j) {
+		int n = size - 1;
+		V answer = values[j];
+		keys[j] = keys[n];
+		values[j] = values[n];
+		hashes[j] = hashes[n];
+		keys[n] = null;
+		values[n] = null;
+		size = n;
 		return answer;
 	}
+	
+	//stores the value remapping returns for key and its current value, null removes the entry
+	//returns the new value
+	@Override
+	@TimeComplexity("O(n)")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return compute(key, key.hashCode(), remapping);
+	}
+	
+	@Override
+	@TimeComplexity("O(n)")
+	V compute(K key, int hash, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		//calls findIndex once then does static actions
+		
+		int j = findIndex(key, hash);
+		V old = (j == -1) ? null : values[j];
+		V value = remapping.apply(key, old);
+		if (value == null) {
+			if (j != -1) {
+				removeAt(j);
+			}
+		}
+		else if (j == -1) {
+			addLast(key, value, hash);
+		}
+		else {
+			values[j] = value;
+		}
+		return value;
+	}
 
-	//private class for iterator
+	//private class for iterator, builds an entry for each position as it is reached
+	//the entries are copies, setValue on them doesn't change the map
 	private class EntryIterator implements Iterator<Entry<K,V>>{
 		
 		private int j = 0;
 		
 		public boolean hasNext() {
-			return j < table.size();
+			return j < size;
 		}
 		
 		public Entry<K,V> next(){
-			if (j == table.size()) {
+			if (j == size) {
 				throw new NoSuchElementException();
 			}
-			return table.get(j++);
+			Entry<K,V> answer = new mapEntry<>(keys[j], values[j], hashes[j]);
+			j++;
+			return answer;
 		}
 		
 		public void remove() {
@@ -0,0 +1,19 @@
+package cs2321;
+
+/*
+ * Gives the weight an entry counts for against a bounded cache's maximum, e.g. its size in bytes.
+ * The weight of an entry must not change while it is cached, since it is recomputed when the
+ * entry is replaced or removed.
+ */
+
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+	//returns the non negative weight of the entry
+	int weigh(K key, V value);
+
+	//every entry weighs 1, so the maximum weight is a maximum number of entries
+	static <K, V> Weigher<K, V> singleton() {
+		return (key, value) -> 1;
+	}
+}
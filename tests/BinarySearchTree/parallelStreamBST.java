@@ -0,0 +1,29 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.stream.Collectors;
+
+@jug.SuiteName("Parallel Stream: BinarySearchTree with put(i * 7919 % 10007, i) for i = 0...10006")
+public class parallelStreamBST {
+
+	private BinarySearchTree<Integer,Integer> TARGET;
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new BinarySearchTree<Integer,Integer>();
+		for(int i=0; i<10007; i++)
+				TARGET.put(i * 7919 % 10007, i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying parallelStream() keys come out in order 0...10006")
+	public void Test1() throws Throwable {
+		java.util.List<Integer> keys = TARGET.parallelStream().map(e -> e.getKey()).collect(Collectors.toList());
+		boolean ordered = keys.size() == 10007;
+		for(int i=0; ordered && i<10007; i++)
+				ordered = keys.get(i) == i;
+
+		org.junit.Assert.assertEquals("Verifying parallelStream() keys come out in order 0...10006", (Object)(true), (Object)(ordered));
+	}
+}
@@ -0,0 +1,68 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+@jug.SuiteName("Sorted Split: BinarySearchTree built from sorted keys, which leaves it a single spine")
+public class sortedSplitBST {
+
+	//splits s until it stops splitting, then walks the parts in order, returns the keys seen
+	private static java.util.List<Integer> walkSplits(Spliterator<Entry<Integer,Integer>> s, int[] splits) {
+		java.util.List<Integer> keys = new java.util.ArrayList<Integer>();
+		Spliterator<Entry<Integer,Integer>> prefix = s.trySplit();
+		if (prefix == null) {
+			s.forEachRemaining(e -> keys.add(e.getKey()));
+			return keys;
+		}
+		splits[0]++;
+		keys.addAll(walkSplits(prefix, splits));
+		keys.addAll(walkSplits(s, splits));
+		return keys;
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(i, i) for i = 0...4999 - Verifying parallelStream() keys come out in order and sum to 12497500")
+	public void Test1() throws Throwable {
+		BinarySearchTree<Integer,Integer> TARGET = new BinarySearchTree<Integer,Integer>();
+		for(int i=0; i<5000; i++)
+				TARGET.put(i, i);
+		java.util.List<Integer> keys = TARGET.parallelStream().map(e -> e.getKey()).collect(Collectors.toList());
+		boolean ordered = keys.size() == 5000;
+		for(int i=0; ordered && i<5000; i++)
+				ordered = keys.get(i) == i;
+		long sum = TARGET.parallelStream().mapToLong(e -> e.getValue()).sum();
+
+		org.junit.Assert.assertEquals("put(i, i) for i = 0...4999 - Verifying parallelStream() keys come out in order and sum to 12497500", (Object)("true 12497500"), (Object)(ordered + " " + sum));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(i, i) for i = 4999...0 - Verifying parallelStream() keys come out in order 0...4999")
+	public void Test2() throws Throwable {
+		BinarySearchTree<Integer,Integer> TARGET = new BinarySearchTree<Integer,Integer>();
+		for(int i=4999; i>=0; i--)
+				TARGET.put(i, i);
+		java.util.List<Integer> keys = TARGET.parallelStream().map(e -> e.getKey()).collect(Collectors.toList());
+		boolean ordered = keys.size() == 5000;
+		for(int i=0; ordered && i<5000; i++)
+				ordered = keys.get(i) == i;
+
+		org.junit.Assert.assertEquals("put(i, i) for i = 4999...0 - Verifying parallelStream() keys come out in order 0...4999", (Object)(true), (Object)(ordered));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(i, i) for i = 0...4999, split the spliterator until it stops - Verifying the first split isn't null, there are several, and the parts hold every key in order")
+	public void Test3() throws Throwable {
+		BinarySearchTree<Integer,Integer> TARGET = new BinarySearchTree<Integer,Integer>();
+		for(int i=0; i<5000; i++)
+				TARGET.put(i, i);
+		int[] splits = new int[1];
+		java.util.List<Integer> keys = walkSplits(TARGET.spliterator(), splits);
+		boolean ordered = keys.size() == 5000;
+		for(int i=0; ordered && i<5000; i++)
+				ordered = keys.get(i) == i;
+
+		org.junit.Assert.assertEquals("put(i, i) for i = 0...4999, split the spliterator until it stops - Verifying the first split isn't null, there are several, and the parts hold every key in order", (Object)("true true"), (Object)((splits[0] > 1) + " " + ordered));
+	}
+}
@@ -0,0 +1,43 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Bloom Filtered Map around a LookupTable, false positive rate 0.01: put(\"\"+i, i) for i = 0...999")
+public class lookupTableBFM {
+
+	private BloomFilteredMap<String, Integer> TARGET = init();
+
+	public BloomFilteredMap<String, Integer> init() {
+		return new BloomFilteredMap<String, Integer>(new LookupTable<String, Integer>(), 0.01);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<1000; i++)
+				TARGET.put(""+i, i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("get(\"\"+i) for i = 0...10999 - Verifying every key found and at least 9700 of the 10000 misses short circuited")
+	public void Test1() throws Throwable {
+		boolean found = true;
+		for(int i=0; i<11000; i++)
+				found &= (i < 1000) ? Integer.valueOf(i).equals(TARGET.get(""+i)) : TARGET.get(""+i) == null;
+
+		org.junit.Assert.assertEquals("get(\"\"+i) for i = 0...10999 - Verifying every key found and at least 9700 of the 10000 misses short circuited", (Object)("true 11000 10000 true"), (Object)(found + " " + TARGET.lookupCount() + " " + (TARGET.shortCircuitCount() + TARGET.falsePositiveCount()) + " " + (TARGET.shortCircuitCount() >= 9700)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("remove(\"\"+i) for i = 0...899 - Verifying the filter was rebuilt and get(\"\"+i) for i = 900...999")
+	public void Test2() throws Throwable {
+		for(int i=0; i<900; i++)
+				TARGET.remove(""+i);
+		boolean found = true;
+		for(int i=0; i<1000; i++)
+				found &= (i < 900) ? TARGET.get(""+i) == null : Integer.valueOf(i).equals(TARGET.get(""+i));
+
+		org.junit.Assert.assertEquals("remove(\"\"+i) for i = 0...899 - Verifying the filter was rebuilt and get(\"\"+i) for i = 900...999", (Object)("true 100 true"), (Object)((TARGET.rebuildCount() > 0) + " " + TARGET.size() + " " + found));
+	}
+
+}
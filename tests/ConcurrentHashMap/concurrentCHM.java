@@ -0,0 +1,127 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@jug.SuiteName("Concurrent: ConcurrentHashMap writers and lock free readers during segment rehash")
+public class concurrentCHM {
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("ConcurrentHashMap(2, 4), 8 threads put(i, i) for 5000 keys each - Verifying size() = 40000 and every get(i) = i")
+	public void Test1() throws Throwable {
+		final ConcurrentHashMap<Integer, Integer> TARGET = new ConcurrentHashMap<Integer, Integer>(2, 4);
+		Thread[] writers = new Thread[8];
+		for(int t=0; t<8; t++) {
+			final int base = t * 5000;
+			writers[t] = new Thread() {
+				public void run() {
+					for(int i=base; i<base+5000; i++)
+						TARGET.put(i, i);
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread w : writers)
+			w.join();
+		int found = 0;
+		for(int i=0; i<40000; i++)
+			if (TARGET.get(i) != null && TARGET.get(i) == i)
+				found++;
+		int iterated = 0;
+		for(Entry<Integer, Integer> e : TARGET.entrySet())
+			iterated++;
+
+		org.junit.Assert.assertEquals("ConcurrentHashMap(2, 4), 8 threads put(i, i) for 5000 keys each - Verifying size() = 40000 and every get(i) = i", (Object)("40000 40000 40000"), (Object)(TARGET.size() + " " + found + " " + iterated));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("ConcurrentHashMap(2, 2), 1000 keys present, 4 threads add 5000 keys each while 4 readers get the first 1000 - Verifying readers never miss a key during rehash")
+	public void Test2() throws Throwable {
+		final ConcurrentHashMap<Integer, Integer> TARGET = new ConcurrentHashMap<Integer, Integer>(2, 2);
+		for(int i=0; i<1000; i++)
+			TARGET.put(i, i);
+		final AtomicBoolean stop = new AtomicBoolean();
+		final String[] error = new String[1];
+		Thread[] readers = new Thread[4];
+		for(int t=0; t<4; t++) {
+			readers[t] = new Thread() {
+				public void run() {
+					try {
+						while (!stop.get()) {
+							for(int i=0; i<1000; i++) {
+								Integer v = TARGET.get(i);
+								if (v == null || v != i) {
+									error[0] = "get(" + i + ") = " + v;
+									return;
+								}
+							}
+							for(Entry<Integer, Integer> e : TARGET.entrySet()) {
+								if (!e.getKey().equals(e.getValue())) {
+									error[0] = "entry " + e.getKey() + "=" + e.getValue();
+									return;
+								}
+							}
+						}
+					} catch (Throwable x) {
+						error[0] = x.toString();
+					}
+				}
+			};
+			readers[t].start();
+		}
+		Thread[] writers = new Thread[4];
+		for(int t=0; t<4; t++) {
+			final int base = 1000 + t * 5000;
+			writers[t] = new Thread() {
+				public void run() {
+					for(int i=base; i<base+5000; i++)
+						TARGET.put(i, i);
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread w : writers)
+			w.join();
+		stop.set(true);
+		for(Thread r : readers)
+			r.join();
+
+		org.junit.Assert.assertEquals("ConcurrentHashMap(2, 2), 1000 keys present, 4 threads add 5000 keys each while 4 readers get the first 1000 - Verifying readers never miss a key during rehash", (Object)("null 21000"), (Object)(error[0] + " " + TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("ConcurrentHashMap(), 4 threads put(i, i) then remove odd i on their own keys and compute(k, +1) on 500 shared keys - Verifying final contents and size()")
+	public void Test3() throws Throwable {
+		final ConcurrentHashMap<Integer, Integer> TARGET = new ConcurrentHashMap<Integer, Integer>();
+		Thread[] writers = new Thread[4];
+		for(int t=0; t<4; t++) {
+			final int base = t * 4000;
+			writers[t] = new Thread() {
+				public void run() {
+					for(int i=base; i<base+4000; i++) {
+						TARGET.put(i, i);
+						int k = 1000000 + (i % 500);
+						TARGET.compute(k, (key, v) -> v == null ? 1 : v + 1);
+					}
+					for(int i=base+1; i<base+4000; i+=2)
+						TARGET.remove(i);
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread w : writers)
+			w.join();
+		String wrong = "";
+		for(int i=0; i<16000; i++) {
+			Integer v = TARGET.get(i);
+			if ((i % 2 == 0) ? (v == null || v != i) : v != null)
+				wrong += " " + i;
+		}
+		for(int k=1000000; k<1000500; k++)
+			if (TARGET.get(k) == null || TARGET.get(k) != 32)
+				wrong += " " + k + "=" + TARGET.get(k);
+
+		org.junit.Assert.assertEquals("ConcurrentHashMap(), 4 threads put(i, i) then remove odd i on their own keys and compute(k, +1) on 500 shared keys - Verifying final contents and size()", (Object)("8500 "), (Object)(TARGET.size() + " " + wrong));
+	}
+}
@@ -0,0 +1,103 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Cuckoo Hash Map: put(i, i) for i = 0...9999, then remove(i) for even i")
+public class collisionCHM {
+
+	private CuckooHashMap<Integer, Integer> TARGET = init();
+
+	public CuckooHashMap<Integer, Integer> init() {
+		return new CuckooHashMap<Integer, Integer>();
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<10000; i++)
+				TARGET.put(i, i);
+		for(int i=0; i<10000; i+=2)
+				TARGET.remove(i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 5000 and get(i) finds exactly the odd keys")
+	public void Test1() throws Throwable {
+		int found = 0;
+		boolean right = true;
+		for(int i=0; i<10000; i++) {
+				Integer v = TARGET.get(i);
+				if (v != null) found++;
+				right &= (i % 2 == 1) ? Integer.valueOf(i).equals(v) : v == null;
+		}
+
+		org.junit.Assert.assertEquals("Verifying size() = 5000 and get(i) finds exactly the odd keys", (Object)("5000 5000 true"), (Object)(TARGET.size() + " " + found + " " + right));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put the 256 Strings of eight \"Aa\"/\"BB\" blocks, which share one hash code, then remove every other one - Verifying every key is stored and found")
+	public void Test2() throws Throwable {
+		//only 12 keys with one hash code fit the table, the rest have to go to the overflow map
+		CuckooHashMap<String, Integer> T = new CuckooHashMap<String, Integer>();
+		String[] keys = new String[256];
+		for(int i=0; i<256; i++) {
+				keys[i] = "";
+				for(int b=0; b<8; b++)
+						keys[i] += ((i >> b) & 1) == 0 ? "Aa" : "BB";
+				T.put(keys[i], i);
+		}
+		boolean found = true;
+		for(int i=0; i<256; i++)
+				found &= Integer.valueOf(i).equals(T.get(keys[i]));
+		String sizes = T.size() + " " + found;
+		for(int i=0; i<256; i+=2)
+				T.remove(keys[i]);
+		T.merge(keys[255], 1000, Integer::sum);
+		int count = 0;
+		for(Entry<String, Integer> e : T.entrySet())
+				count++;
+		for(int i=0; i<256; i++)
+				found &= (i % 2 == 0) ? T.get(keys[i]) == null : Integer.valueOf(i == 255 ? 1255 : i).equals(T.get(keys[i]));
+
+		org.junit.Assert.assertEquals("put the 256 Strings of eight \"Aa\"/\"BB\" blocks, which share one hash code, then remove every other one - Verifying every key is stored and found", (Object)("256 true 128 128 true"), (Object)(sizes + " " + T.size() + " " + count + " " + found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put the 256 colliding \"Aa\"/\"BB\" Strings with null values, then put(key, i), compute and remove on each - Verifying the overflow map never stores a key twice")
+	public void Test3() throws Throwable {
+		//most of these keys live in the overflow map, where a null value must still count as present
+		CuckooHashMap<String, Integer> T = new CuckooHashMap<String, Integer>();
+		String[] keys = new String[256];
+		for(int i=0; i<256; i++) {
+				keys[i] = "";
+				for(int b=0; b<8; b++)
+						keys[i] += ((i >> b) & 1) == 0 ? "Aa" : "BB";
+				T.put(keys[i], null);
+		}
+		String sizes = "" + T.size();
+		for(int i=0; i<256; i++)
+				T.put(keys[i], i);
+		sizes += " " + T.size();
+		for(int i=0; i<256; i++)
+				T.put(keys[i], null);
+		for(int i=0; i<256; i++)
+				T.compute(keys[i], (k, v) -> v == null ? 1 : v + 1);
+		int count = 0;
+		boolean found = true;
+		for(Entry<String, Integer> e : T.entrySet()) {
+				count++;
+				found &= Integer.valueOf(1).equals(e.getValue());
+		}
+		sizes += " " + T.size() + " " + count + " " + found;
+		for(int i=0; i<256; i++)
+				T.put(keys[i], null);
+		for(int i=0; i<256; i++)
+				T.remove(keys[i]);
+		count = 0;
+		for(Entry<String, Integer> e : T.entrySet())
+				count++;
+
+		org.junit.Assert.assertEquals("put the 256 colliding \"Aa\"/\"BB\" Strings with null values, then put(key, i), compute and remove on each - Verifying the overflow map never stores a key twice", (Object)("256 256 256 256 true 0 0"), (Object)(sizes + " " + T.size() + " " + count));
+	}
+
+}
@@ -0,0 +1,68 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.concurrent.TimeUnit;
+
+@jug.SuiteName("Expiring Cache: 10 second lifetime on a manual clock, put(i, i) for i = 0...99 at time 0")
+public class expireAfterWriteEC {
+
+	private long now = 0;
+	private ExpiringCache<Integer, Integer> TARGET = init(ExpiringCache.Expiry.AFTER_WRITE);
+	private ExpiringCache<Integer, Integer> T = init(ExpiringCache.Expiry.AFTER_ACCESS);
+
+	public ExpiringCache<Integer, Integer> init(ExpiringCache.Expiry expiry) {
+		return new ExpiringCache<Integer, Integer>(10, TimeUnit.SECONDS, expiry, () -> now);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<100; i++)
+			{
+				TARGET.put(i, i);
+				T.put(i, i);
+			}
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("At 9.999s get(i) finds every entry, at 10s get(i) finds none")
+	public void Test1() throws Throwable {
+		now = TimeUnit.MILLISECONDS.toNanos(9999);
+		boolean found = true;
+		for(int i=0; i<100; i++)
+				found = found && TARGET.get(i) != null;
+		now = TimeUnit.SECONDS.toNanos(10);
+		for(int i=0; i<100; i++)
+				found = found && TARGET.get(i) == null;
+
+		org.junit.Assert.assertEquals("At 9.999s get(i) finds every entry, at 10s get(i) finds none", (Object)(true), (Object)(found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(5, 50) at 5s - Verifying at 12s size() = 1 and expirationCount() = 99 after cleanUp()")
+	public void Test2() throws Throwable {
+		now = TimeUnit.SECONDS.toNanos(5);
+		TARGET.put(5, 50);
+		now = TimeUnit.SECONDS.toNanos(12);
+		TARGET.cleanUp();
+
+		org.junit.Assert.assertEquals("put(5, 50) at 5s - Verifying at 12s size() = 1 and expirationCount() = 99 after cleanUp()", (Object)("1 99 50"), (Object)(TARGET.size() + " " + TARGET.expirationCount() + " " + TARGET.get(5)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Expire after access: get(7) every 5s until 60s - Verifying only key 7 is left")
+	public void Test3() throws Throwable {
+		for(int s=5; s<=60; s+=5)
+			{
+				now = TimeUnit.SECONDS.toNanos(s);
+				T.get(7);
+			}
+		T.cleanUp();
+		int k = 0;
+		for(Entry<Integer,Integer> e : T.entrySet())
+				k++;
+
+		org.junit.Assert.assertEquals("Expire after access: get(7) every 5s until 60s - Verifying only key 7 is left", (Object)("1 1 7"), (Object)(T.size() + " " + k + " " + T.get(7)));
+	}
+
+}
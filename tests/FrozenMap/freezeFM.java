@@ -0,0 +1,64 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Frozen Map: HashMap with put(\"\"+i, i) for i = 0...9999, then freeze()")
+public class freezeFM {
+
+	private FrozenMap<String, Integer> TARGET;
+
+	//keys whose hash code only has 100 values
+	static class Clash {
+		final int v;
+		Clash(int v) { this.v = v; }
+		public int hashCode() { return v % 100; }
+		public boolean equals(Object o) { return o instanceof Clash && ((Clash) o).v == v; }
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		HashMap<String, Integer> source = new HashMap<String, Integer>();
+		for(int i=0; i<10000; i++)
+				source.put(""+i, i);
+		TARGET = source.freeze();
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 10000, get(\"\"+i) for i = 0...9999 and get(\"\"+i) = null for i = 10000...19999")
+	public void Test1() throws Throwable {
+		boolean found = true;
+		for(int i=0; i<20000; i++)
+				found &= (i < 10000) ? Integer.valueOf(i).equals(TARGET.get(""+i)) : TARGET.get(""+i) == null;
+
+		org.junit.Assert.assertEquals("Verifying size() = 10000, get(\"\"+i) for i = 0...9999 and get(\"\"+i) = null for i = 10000...19999", (Object)("10000 true"), (Object)(TARGET.size() + " " + found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(\"0\", 1) - Verifying UnsupportedOperationException and get(\"0\") = 0")
+	public void Test2() throws Throwable {
+		String thrown = "none";
+		try {
+				TARGET.put("0", 1);
+		} catch (UnsupportedOperationException e) {
+				thrown = "UnsupportedOperationException";
+		}
+
+		org.junit.Assert.assertEquals("put(\"0\", 1) - Verifying UnsupportedOperationException and get(\"0\") = 0", (Object)("UnsupportedOperationException 0"), (Object)(thrown + " " + TARGET.get("0")));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("freeze 1000 keys with 100 distinct hash codes - Verifying size() = 1000 and every get")
+	public void Test3() throws Throwable {
+		HashMap<Clash, Integer> source = new HashMap<Clash, Integer>();
+		for(int i=0; i<1000; i++)
+				source.put(new Clash(i), i);
+		FrozenMap<Clash, Integer> T = source.freeze();
+		boolean found = true;
+		for(int i=0; i<1100; i++)
+				found &= (i < 1000) ? Integer.valueOf(i).equals(T.get(new Clash(i))) : T.get(new Clash(i)) == null;
+
+		org.junit.Assert.assertEquals("freeze 1000 keys with 100 distinct hash codes - Verifying size() = 1000 and every get", (Object)("1000 true"), (Object)(T.size() + " " + found));
+	}
+
+}
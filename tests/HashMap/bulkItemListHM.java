@@ -0,0 +1,66 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Bulk Item List: putAll of 10000 items [n[i],i], where n[0] is \"1234\" and n[i]=(721*x(n-1)+51)%10000 (as a string)")
+public class bulkItemListHM {
+
+	private HashMap<String, String> TARGET = init();
+	private HashMap<String, String> T = init();
+
+	public HashMap<String, String> init() {
+		return new HashMap<String, String>(4);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		ArrayList<Entry<String,String>> batch = new ArrayList<Entry<String,String>>(10001);
+		int val = 1234;
+		for(int i=0; i<10000; i++)
+			{
+				batch.addLast(new AbstractMap.mapEntry<String,String>(""+val, ""+i));
+				val = (721 * val + 51) % 10000;
+			}
+		TARGET.putAll(batch);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 10000 and tableSize() = 16384")
+	public void Test1() throws Throwable {
+
+		org.junit.Assert.assertEquals("Verifying size() = 10000 and tableSize() = 16384", (Object)(true), (Object)(TARGET.size() == 10000 && TARGET.tableSize() == 16384));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying get(i) for i = \"1\"...\"10000\"")
+	public void Test2() throws Throwable {
+		Integer [] key2value = new Integer[10000];
+		int val = 1234;
+		for(int i=0; i<10000; i++)
+			{
+				key2value[val]=i;
+				val = (721 * val + 51) % 10000;
+			}
+		boolean found = true;
+		for(int i=0; i<key2value.length; i++)
+				found = found && TARGET.get(""+i).equals(""+key2value[i]);
+
+		org.junit.Assert.assertEquals("Verifying get(i) for i = \"1\"...\"10000\"", (Object)(true), (Object)(found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("getAll(\"9990\"...\"10009\") - Verifying 10 entries in key order")
+	public void Test3() throws Throwable {
+		ArrayList<String> keys = new ArrayList<String>(21);
+		for(int i=10009; i>=9990; i--)
+				keys.addLast(""+i);
+		ArrayList<Entry<String,String>> result = TARGET.getAll(keys);
+		boolean found = result.size() == 10;
+		for(int i=0; found && i<result.size(); i++)
+				found = result.get(i).getKey().equals(""+(9999-i)) && result.get(i).getValue().equals(TARGET.get(""+(9999-i)));
+
+		org.junit.Assert.assertEquals("getAll(\"9990\"...\"10009\") - Verifying 10 entries in key order", (Object)(true), (Object)(found));
+	}
+
+}
@@ -0,0 +1,49 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Compute and Merge: putIfAbsent, computeIfAbsent, computeIfPresent, compute, merge and getOrDefault on HashMap, LookupTable and BinarySearchTree")
+public class computeMergeHM {
+
+	//runs the same calls on a map and returns what they answered, separated by spaces
+	private String steps(AbstractMap<String, Integer> map) {
+		String s = map.putIfAbsent("a", 1) + " " + map.putIfAbsent("a", 2) + " " + map.get("a");
+		s += " " + map.merge("w", 1, Integer::sum) + " " + map.merge("w", 1, Integer::sum);
+		s += " " + map.computeIfAbsent("b", k -> k.length()) + " " + map.computeIfAbsent("b", k -> 99);
+		s += " " + map.computeIfPresent("z", (k, v) -> 5) + " " + map.get("z");
+		s += " " + map.computeIfPresent("b", (k, v) -> null) + " " + map.get("b");
+		s += " " + map.compute("a", (k, v) -> (v == null) ? 0 : v + 10);
+		s += " " + map.merge("w", 0, (old, v) -> null) + " " + map.getOrDefault("w", -1);
+		s += " " + map.size();
+		return s;
+	}
+
+	//counts 10000 words drawn from 100 with merge, returns number of keys and the smallest and largest count
+	private String counts(AbstractMap<String, Integer> map) {
+		for(int i=0; i<10000; i++)
+				map.merge("word" + (i * 37 % 100), 1, Integer::sum);
+		int min = Integer.MAX_VALUE;
+		int max = 0;
+		for(Entry<String, Integer> e : map.entrySet()) {
+				min = Math.min(min, e.getValue());
+				max = Math.max(max, e.getValue());
+		}
+		return map.size() + " " + min + " " + max;
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying each call's result on HashMap, LookupTable and BinarySearchTree")
+	public void Test1() throws Throwable {
+		String expected = "null 1 1 1 2 1 1 null null null null 11 null -1 1";
+
+		org.junit.Assert.assertEquals("Verifying each call's result on HashMap, LookupTable and BinarySearchTree", (Object)(expected + "|" + expected + "|" + expected), (Object)(steps(new HashMap<String, Integer>()) + "|" + steps(new LookupTable<String, Integer>()) + "|" + steps(new BinarySearchTree<String, Integer>())));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("merge(\"word\" + (i * 37 % 100), 1, Integer::sum) for i = 0...9999 - Verifying 100 keys each counted 100 times")
+	public void Test2() throws Throwable {
+
+		org.junit.Assert.assertEquals("merge(\"word\" + (i * 37 % 100), 1, Integer::sum) for i = 0...9999 - Verifying 100 keys each counted 100 times", (Object)("100 100 100|100 100 100|100 100 100"), (Object)(counts(new HashMap<String, Integer>()) + "|" + counts(new LookupTable<String, Integer>()) + "|" + counts(new BinarySearchTree<String, Integer>())));
+	}
+}
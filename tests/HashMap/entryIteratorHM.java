@@ -0,0 +1,76 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+@jug.SuiteName("Entry Iterator: HashMap entrySet() as a lazy, fail-fast view")
+public class entryIteratorHM {
+
+	private HashMap<Integer, Integer> TARGET;
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new HashMap<Integer, Integer>();
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("entrySet() taken while empty, then put(i, i) for i = 0...99 - Verifying the view iterates all 100 entries")
+	public void Test1() throws Throwable {
+		Iterable<Entry<Integer, Integer>> view = TARGET.entrySet();
+		for(int i=0; i<100; i++)
+				TARGET.put(i, i);
+		int count = 0;
+		int sum = 0;
+		for(Entry<Integer, Integer> e : view) {
+				count++;
+				sum += e.getValue();
+		}
+
+		org.junit.Assert.assertEquals("entrySet() taken while empty, then put(i, i) for i = 0...99 - Verifying the view iterates all 100 entries", (Object)("100 4950"), (Object)(count + " " + sum));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(-1, -1) and remove(50) while iterating - Verifying ConcurrentModificationException both times")
+	public void Test2() throws Throwable {
+		for(int i=0; i<100; i++)
+				TARGET.put(i, i);
+		String thrown = "";
+		try {
+				for(Entry<Integer, Integer> e : TARGET.entrySet())
+						TARGET.put(-1, -1);
+				thrown += "none";
+		} catch (ConcurrentModificationException e) {
+				thrown += "ConcurrentModificationException";
+		}
+		try {
+				Iterator<Entry<Integer, Integer>> it = TARGET.entrySet().iterator();
+				it.next();
+				TARGET.remove(50);
+				it.next();
+				thrown += " none";
+		} catch (ConcurrentModificationException e) {
+				thrown += " ConcurrentModificationException";
+		}
+
+		org.junit.Assert.assertEquals("put(-1, -1) and remove(50) while iterating - Verifying ConcurrentModificationException both times", (Object)("ConcurrentModificationException ConcurrentModificationException"), (Object)(thrown));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(i, i + 1) for every key while iterating - Verifying replacing values is not a structural change")
+	public void Test3() throws Throwable {
+		for(int i=0; i<100; i++)
+				TARGET.put(i, i);
+		int count = 0;
+		for(Entry<Integer, Integer> e : TARGET.entrySet()) {
+				TARGET.put(e.getKey(), e.getKey() + 1);
+				count++;
+		}
+		boolean updated = true;
+		for(int i=0; i<100; i++)
+				updated &= Integer.valueOf(i + 1).equals(TARGET.get(i));
+
+		org.junit.Assert.assertEquals("put(i, i + 1) for every key while iterating - Verifying replacing values is not a structural change", (Object)("100 true"), (Object)(count + " " + updated));
+	}
+}
@@ -0,0 +1,61 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Hash Strategy: HashMap(16, strategy) with identity(), mixing(), seeded(), seeded(42) and a constant hash")
+public class hashStrategyHM {
+
+	@SuppressWarnings("unchecked")
+	private HashStrategy<Integer>[] STRATEGIES = new HashStrategy[] {
+			HashStrategy.identity(), HashStrategy.mixing(), HashStrategy.seeded(), HashStrategy.seeded(42), (HashStrategy<Integer>) key -> 0 };
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put Integer.MIN_VALUE, Integer.MAX_VALUE, -1 and i for i = 0...1999, remove odd i - Verifying get of every key with every strategy")
+	public void Test1() throws Throwable {
+		//Integer.MIN_VALUE hashes to itself, which once made Math.abs(hash) % capacity a negative index
+		String results = "";
+		for(HashStrategy<Integer> strategy : STRATEGIES) {
+				HashMap<Integer, Integer> TARGET = new HashMap<Integer, Integer>(16, strategy);
+				TARGET.put(Integer.MIN_VALUE, 1);
+				TARGET.put(Integer.MAX_VALUE, 2);
+				TARGET.put(-1, 3);
+				for(int i=0; i<2000; i++)
+						TARGET.put(i, i);
+				for(int i=1; i<2000; i+=2)
+						TARGET.remove(i);
+				boolean found = Integer.valueOf(1).equals(TARGET.get(Integer.MIN_VALUE)) && Integer.valueOf(2).equals(TARGET.get(Integer.MAX_VALUE)) && Integer.valueOf(3).equals(TARGET.get(-1));
+				for(int i=0; i<2000; i++)
+						found &= (i % 2 == 0) ? Integer.valueOf(i).equals(TARGET.get(i)) : TARGET.get(i) == null;
+				results += found + " " + TARGET.size() + " ";
+		}
+
+		org.junit.Assert.assertEquals("put Integer.MIN_VALUE, Integer.MAX_VALUE, -1 and i for i = 0...1999, remove odd i - Verifying get of every key with every strategy", (Object)("true 1003 true 1003 true 1003 true 1003 true 1003 "), (Object)(results));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put i << 16 for i = 0...63 - Verifying identity() piles them into one tree bucket and mixing() spreads them")
+	public void Test2() throws Throwable {
+		//the keys differ only above bit 16, which a 128 bucket mask never sees without mixing
+		HashMap<Integer, Integer> identity = new HashMap<Integer, Integer>(16, HashStrategy.<Integer>identity());
+		HashMap<Integer, Integer> mixing = new HashMap<Integer, Integer>(16, HashStrategy.<Integer>mixing());
+		for(int i=0; i<64; i++) {
+				identity.put(i << 16, i);
+				mixing.put(i << 16, i);
+		}
+
+		org.junit.Assert.assertEquals("put i << 16 for i = 0...63 - Verifying identity() piles them into one tree bucket and mixing() spreads them", (Object)("1 0"), (Object)(identity.treeBucketCount() + " " + mixing.treeBucketCount()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying seeded(42) is repeatable, differs from seeded(43) and mixing(), and mixing() is mix(hashCode())")
+	public void Test3() throws Throwable {
+		HashStrategy<String> a = HashStrategy.seeded(42);
+		HashStrategy<String> b = HashStrategy.seeded(42);
+		HashStrategy<String> c = HashStrategy.seeded(43);
+		HashStrategy<String> m = HashStrategy.mixing();
+		String result = (a.hash("key") == b.hash("key")) + " " + (a.hash("key") != c.hash("key")) + " " + (a.hash("key") != m.hash("key")) + " " + (m.hash("key") == HashStrategy.mix("key".hashCode()));
+
+		org.junit.Assert.assertEquals("Verifying seeded(42) is repeatable, differs from seeded(43) and mixing(), and mixing() is mix(hashCode())", (Object)("true true true true"), (Object)(result));
+	}
+}
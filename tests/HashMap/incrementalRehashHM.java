@@ -0,0 +1,69 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Incremental Rehash: HashMap(16, 2) with interleaved put, get and remove")
+public class incrementalRehashHM {
+
+	private HashMap<Integer, Integer> TARGET;
+	private java.util.HashMap<Integer, Integer> EXPECTED;
+	private boolean sawRehash;
+	private boolean visible;
+
+	//put(i, i) for i = 0...19999, removing i - 1 whenever i is a multiple of 3,
+	//and checking every live key with get while a migration is in progress
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new HashMap<Integer, Integer>(16, 2);
+		EXPECTED = new java.util.HashMap<Integer, Integer>();
+		sawRehash = false;
+		visible = true;
+		for(int i=0; i<20000; i++) {
+				TARGET.put(i, i);
+				EXPECTED.put(i, i);
+				if (i % 3 == 0 && i > 0) {
+						visible &= Integer.valueOf(i - 1).equals(TARGET.remove(i - 1));
+						EXPECTED.remove(i - 1);
+				}
+				if (TARGET.isRehashing()) {
+						sawRehash = true;
+						if (i % 97 == 0) {
+								for(java.util.Map.Entry<Integer, Integer> e : EXPECTED.entrySet())
+										visible &= e.getValue().equals(TARGET.get(e.getKey()));
+								visible &= TARGET.get(-1) == null && (TARGET.get(i - 1) == null) == (i % 3 == 0);
+						}
+				}
+		}
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying a migration was in progress and every live key stayed visible while both tables were in use")
+	public void Test1() throws Throwable {
+
+		org.junit.Assert.assertEquals("Verifying a migration was in progress and every live key stayed visible while both tables were in use", (Object)("true true"), (Object)(sawRehash + " " + visible));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying no operation migrated more than 3 buckets worth of entries, though the table grew to 32768 buckets")
+	public void Test2() throws Throwable {
+		//each operation migrates the bucket it touches plus rehashStep = 2 more, and chains of
+		//well mixed Integer keys stay far below TREEIFY_THRESHOLD, so 3 buckets hold at most 24 entries
+		
+		org.junit.Assert.assertEquals("Verifying no operation migrated more than 3 buckets worth of entries, though the table grew to 32768 buckets", (Object)("true 32768"), (Object)((TARGET.maxRehashEntries() <= 24) + " " + TARGET.tableSize()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("setIncrementalRehash(0) - Verifying the migration finishes and size() and entrySet() match the expected entries")
+	public void Test3() throws Throwable {
+		TARGET.setIncrementalRehash(0);
+		int count = 0;
+		boolean matched = true;
+		for(Entry<Integer, Integer> e : TARGET.entrySet()) {
+				count++;
+				matched &= e.getValue().equals(EXPECTED.get(e.getKey()));
+		}
+
+		org.junit.Assert.assertEquals("setIncrementalRehash(0) - Verifying the migration finishes and size() and entrySet() match the expected entries", (Object)("false " + EXPECTED.size() + " " + EXPECTED.size() + " true"), (Object)(TARGET.isRehashing() + " " + TARGET.size() + " " + count + " " + matched));
+	}
+}
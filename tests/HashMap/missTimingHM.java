@@ -0,0 +1,56 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+//milliseconds for 100000 get calls on keys that are absent, against the number of entries
+public class missTimingHM implements DataSeries {
+
+	private HashMap<String, String> TARGET = init();
+	private HashMap<String, String> T = init();
+
+	public HashMap<String, String> init() {
+		return new HashMap<String, String>();
+	}
+
+	public double[] xAxis() throws Throwable {
+		
+			double[] xAxis = {1000, 10000, 100000, 1000000};
+			return xAxis;  
+         	
+	}
+
+	public double[] yAxis() throws Throwable {
+		
+			int REPS = 5;
+			int GETS = 100000;
+			double[] xAxis = xAxis();
+			double[] yAxis = new double[xAxis.length];
+			String[] absent = new String[GETS];
+			for(int count = 0; count < GETS; count++) {
+				absent[count] = "absent" + count;
+			}
+			for(int index = 0; index < xAxis.length; index++) {
+				double n = xAxis[index];
+				
+				//setup
+				T = init();
+				for(int count = 0; count < n; count++) {
+					T.put(""+count, ""+count);
+				}
+				// Timing
+				int found = 0;
+				long start = System.currentTimeMillis();
+
+				for(int it = 0; it < REPS; it++) {
+					for(int count = 0; count < GETS; count++) {
+						if (T.get(absent[count]) != null) found++;
+					}
+				}
+		         	yAxis[index] = (double)(System.currentTimeMillis() - start + found) / REPS;
+
+			} // end for index
+             		return yAxis;
+		
+	}
+}
@@ -0,0 +1,31 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.concurrent.ForkJoinPool;
+
+@jug.SuiteName("Parallel Resize: HashMap with setParallelResize(1, new ForkJoinPool(4)) and put(i, i) for i = 0...199999")
+public class parallelResizeHM {
+
+	private HashMap<Integer, Integer> TARGET;
+	private ForkJoinPool POOL = new ForkJoinPool(4);
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new HashMap<Integer, Integer>();
+		TARGET.setParallelResize(1, POOL);
+		for(int i=0; i<200000; i++)
+				TARGET.put(i, i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 200000, tableSize() = 524288 and get(i) = i for i = 0...199999")
+	public void Test1() throws Throwable {
+		boolean found = true;
+		for(int i=0; i<200000; i++)
+				found &= Integer.valueOf(i).equals(TARGET.get(i));
+		POOL.shutdown();
+
+		org.junit.Assert.assertEquals("Verifying size() = 200000, tableSize() = 524288 and get(i) = i for i = 0...199999", (Object)("200000 524288 true"), (Object)(TARGET.size() + " " + TARGET.tableSize() + " " + found));
+	}
+}
@@ -0,0 +1,40 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Parallel Stream: HashMap(16, 4) with put(i, i) for i = 0...99999")
+public class parallelStreamHM {
+
+	private HashMap<Integer, Integer> TARGET;
+
+	@Before
+	public void setup() throws Throwable {
+		//a rehash step of 4 leaves the last resize in progress, so the old buckets are streamed too
+		TARGET = new HashMap<Integer, Integer>(16, 4);
+		for(int i=0; i<100000; i++)
+				TARGET.put(i, i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying parallelStream() count and sum of values = stream() count and sum of values")
+	public void Test1() throws Throwable {
+		long parallel = TARGET.parallelStream().mapToLong(e -> e.getValue()).sum();
+		long sequential = TARGET.stream().mapToLong(e -> e.getValue()).sum();
+
+		org.junit.Assert.assertEquals("Verifying parallelStream() count and sum of values = stream() count and sum of values", (Object)("100000 4999950000 4999950000"), (Object)(TARGET.parallelStream().count() + " " + parallel + " " + sequential));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(-1, -1) during stream().forEach - Verifying ConcurrentModificationException")
+	public void Test2() throws Throwable {
+		String thrown = "none";
+		try {
+				TARGET.stream().forEach(e -> TARGET.put(-1, -1));
+		} catch (java.util.ConcurrentModificationException e) {
+				thrown = "ConcurrentModificationException";
+		}
+
+		org.junit.Assert.assertEquals("put(-1, -1) during stream().forEach - Verifying ConcurrentModificationException", (Object)("ConcurrentModificationException"), (Object)(thrown));
+	}
+}
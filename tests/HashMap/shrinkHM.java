@@ -0,0 +1,43 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Shrink: HashMap tableSize() as entries are removed")
+public class shrinkHM {
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("HashMap(1024), put(i, i) for i = 0...599, remove(i) for i = 1...599 - Verifying tableSize() stays 1024, then trimToSize() = 16")
+	public void Test1() throws Throwable {
+		HashMap<Integer, Integer> TARGET = new HashMap<Integer, Integer>(1024);
+		for(int i=0; i<600; i++)
+				TARGET.put(i, i);
+		for(int i=1; i<600; i++)
+				TARGET.remove(i);
+		int presized = TARGET.tableSize();
+		TARGET.trimToSize();
+
+		org.junit.Assert.assertEquals("HashMap(1024), put(i, i) for i = 0...599, remove(i) for i = 1...599 - Verifying tableSize() stays 1024, then trimToSize() = 16", (Object)("1024 16 1"), (Object)(presized + " " + TARGET.tableSize() + " " + TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("HashMap(), put(i, i) for i = 0...999, remove down to 384 then 383 entries, put back to 700 - Verifying tableSize() = 2048, 2048, 1024, 1024")
+	public void Test2() throws Throwable {
+		HashMap<Integer, Integer> TARGET = new HashMap<Integer, Integer>();
+		for(int i=0; i<1000; i++)
+				TARGET.put(i, i);
+		String sizes = "" + TARGET.tableSize();
+		for(int i=999; i>=384; i--)
+				TARGET.remove(i);
+		//384 entries is not below 2048 * 0.1875, so the table waits for one more remove
+		sizes += " " + TARGET.tableSize();
+		TARGET.remove(383);
+		sizes += " " + TARGET.tableSize();
+		//700 entries fit 1024 * 0.75, so refilling doesn't grow the table straight back
+		for(int i=383; i<700; i++)
+				TARGET.put(i, i);
+		sizes += " " + TARGET.tableSize();
+
+		org.junit.Assert.assertEquals("HashMap(), put(i, i) for i = 0...999, remove down to 384 then 383 entries, put back to 700 - Verifying tableSize() = 2048, 2048, 1024, 1024", (Object)("2048 2048 1024 1024"), (Object)(sizes));
+	}
+}
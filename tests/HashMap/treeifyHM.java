@@ -0,0 +1,83 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Treeify: HashMap with the 16 Strings of four \"Aa\"/\"BB\" blocks, which all share one hashCode")
+public class treeifyHM {
+
+	private HashMap<Object, Integer> TARGET;
+	private String[] KEYS = new String[16];
+
+	//a key that can't be ordered, with the same hash code as the Strings
+	static class Plain {
+		public int hashCode() { return "AaAaAaAa".hashCode(); }
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new HashMap<Object, Integer>();
+		for(int i=0; i<16; i++) {
+				String key = "";
+				for(int b=0; b<4; b++)
+						key += ((i >> b) & 1) == 0 ? "Aa" : "BB";
+				KEYS[i] = key;
+		}
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 8 keys, then 16, then remove down to 6 - Verifying treeBucketCount() = 0, 1, 0 and every key is found")
+	public void Test1() throws Throwable {
+		for(int i=0; i<8; i++)
+				TARGET.put(KEYS[i], i);
+		String counts = "" + TARGET.treeBucketCount();
+		for(int i=8; i<16; i++)
+				TARGET.put(KEYS[i], i);
+		counts += " " + TARGET.treeBucketCount();
+		boolean found = true;
+		for(int i=0; i<16; i++)
+				found &= Integer.valueOf(i).equals(TARGET.get(KEYS[i]));
+		for(int i=6; i<16; i++)
+				TARGET.remove(KEYS[i]);
+		counts += " " + TARGET.treeBucketCount();
+		for(int i=0; i<16; i++)
+				found &= (i < 6) ? Integer.valueOf(i).equals(TARGET.get(KEYS[i])) : TARGET.get(KEYS[i]) == null;
+
+		org.junit.Assert.assertEquals("put 8 keys, then 16, then remove down to 6 - Verifying treeBucketCount() = 0, 1, 0 and every key is found", (Object)("0 1 0 true 6"), (Object)(counts + " " + found + " " + TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 16 keys, then a non Comparable key with the same hash - Verifying treeBucketCount() = 1, then 0, and every key is found")
+	public void Test2() throws Throwable {
+		for(int i=0; i<16; i++)
+				TARGET.put(KEYS[i], i);
+		String counts = "" + TARGET.treeBucketCount();
+		Plain plain = new Plain();
+		TARGET.put(plain, -1);
+		counts += " " + TARGET.treeBucketCount();
+		boolean found = Integer.valueOf(-1).equals(TARGET.get(plain));
+		for(int i=0; i<16; i++)
+				found &= Integer.valueOf(i).equals(TARGET.get(KEYS[i]));
+
+		org.junit.Assert.assertEquals("put 16 keys, then a non Comparable key with the same hash - Verifying treeBucketCount() = 1, then 0, and every key is found", (Object)("1 0 true 17"), (Object)(counts + " " + found + " " + TARGET.size()));
+	}
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put a non Comparable key and 12 Strings with the same hash, remove the non Comparable key, then put a 13th String - Verifying treeBucketCount() = 0, 0, 1 and every key is found")
+	public void Test3() throws Throwable {
+		//the chain passes TREEIFY_THRESHOLD while it can't be a tree, and must still convert once it can
+		Plain plain = new Plain();
+		TARGET.put(plain, -1);
+		for(int i=0; i<12; i++)
+				TARGET.put(KEYS[i], i);
+		String counts = "" + TARGET.treeBucketCount();
+		TARGET.remove(plain);
+		counts += " " + TARGET.treeBucketCount();
+		TARGET.put(KEYS[12], 12);
+		counts += " " + TARGET.treeBucketCount();
+		boolean found = TARGET.get(plain) == null;
+		for(int i=0; i<13; i++)
+				found &= Integer.valueOf(i).equals(TARGET.get(KEYS[i]));
+
+		org.junit.Assert.assertEquals("put a non Comparable key and 12 Strings with the same hash, remove the non Comparable key, then put a 13th String - Verifying treeBucketCount() = 0, 0, 1 and every key is found", (Object)("0 0 1 true 13"), (Object)(counts + " " + found + " " + TARGET.size()));
+	}
+}
@@ -0,0 +1,53 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("IntIntHashMap: zero key, backward shift deletes and growth")
+public class probeChainIIHM {
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(0, 5), put(0, 6), remove(0) - Verifying the returned values, get(0) and size()")
+	public void Test1() throws Throwable {
+		IntIntHashMap TARGET = new IntIntHashMap(64, -1);
+		String steps = TARGET.put(0, 5) + " " + TARGET.get(0) + " " + TARGET.size();
+		steps += " " + TARGET.put(0, 6) + " " + TARGET.size();
+		steps += " " + TARGET.remove(0) + " " + TARGET.get(0) + " " + TARGET.containsKey(0) + " " + TARGET.size();
+
+		org.junit.Assert.assertEquals("put(0, 5), put(0, 6), remove(0) - Verifying the returned values, get(0) and size()", (Object)("-1 5 1 5 1 6 -1 false 0"), (Object)(steps));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 48 keys into a 64 slot table, remove them in scrambled order - Verifying every remaining key is found after each remove")
+	public void Test2() throws Throwable {
+		//48 keys in 64 slots leave long probe runs, so removes have to shift entries back across them
+		IntIntHashMap TARGET = new IntIntHashMap(64, -1);
+		for(int i=0; i<48; i++)
+				TARGET.put((i * 7919 + 1), (i * 7919 + 1) * 2);
+		boolean found = true;
+		boolean[] removed = new boolean[48];
+		for(int r=0; r<48; r++) {
+				int gone = r * 29 % 48;
+				removed[gone] = true;
+				TARGET.remove((gone * 7919 + 1));
+				for(int i=0; i<48; i++)
+						found &= removed[i] ? TARGET.get((i * 7919 + 1)) == -1 : TARGET.get((i * 7919 + 1)) == ((i * 7919 + 1) * 2);
+		}
+
+		org.junit.Assert.assertEquals("put 48 keys into a 64 slot table, remove them in scrambled order - Verifying every remaining key is found after each remove", (Object)("true 0"), (Object)(found + " " + TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 0 and 100000 more keys into a 16 slot table - Verifying size() = 100001, keySet() length and get of every key")
+	public void Test3() throws Throwable {
+		IntIntHashMap TARGET = new IntIntHashMap(16, -1);
+		TARGET.put(0, 5);
+		for(int i=0; i<100000; i++)
+				TARGET.put((i * 7919 + 1), (i * 7919 + 1) * 2);
+		boolean found = TARGET.get(0) == 5;
+		for(int i=0; i<100000; i++)
+				found &= TARGET.get((i * 7919 + 1)) == ((i * 7919 + 1) * 2);
+
+		org.junit.Assert.assertEquals("put 0 and 100000 more keys into a 16 slot table - Verifying size() = 100001, keySet() length and get of every key", (Object)("100001 100001 true"), (Object)(TARGET.size() + " " + TARGET.keySet().length + " " + found));
+	}
+}
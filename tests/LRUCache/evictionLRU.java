@@ -0,0 +1,53 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("LRU Cache: maximum 5 entries, put(i, i) for i = 0...4")
+public class evictionLRU {
+
+	private LRUCache<Integer, Integer> TARGET = init();
+	private LRUCache<Integer, Integer> T = init();
+	private String evicted = "";
+
+	public LRUCache<Integer, Integer> init() {
+		return new LRUCache<Integer, Integer>(5);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET.setEvictionListener((k, v) -> evicted += k);
+		for(int i=0; i<5; i++)
+				TARGET.put(i, i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("get(0), put(5, 5), put(6, 6) - Verifying 1 and 2 are evicted")
+	public void Test1() throws Throwable {
+		TARGET.get(0);
+		TARGET.put(5, 5);
+		TARGET.put(6, 6);
+
+		org.junit.Assert.assertEquals("get(0), put(5, 5), put(6, 6) - Verifying 1 and 2 are evicted", (Object)("12 5 true"), (Object)(evicted + " " + TARGET.size() + " " + (TARGET.get(1) == null && TARGET.get(0) != null)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("get(i) for i = 0...9 - Verifying 5 hits, 5 misses, 0 evictions")
+	public void Test2() throws Throwable {
+		for(int i=0; i<10; i++)
+				TARGET.get(i);
+
+		org.junit.Assert.assertEquals("get(i) for i = 0...9 - Verifying 5 hits, 5 misses, 0 evictions", (Object)("5 5 0"), (Object)(TARGET.hitCount() + " " + TARGET.missCount() + " " + TARGET.evictionCount()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Weigher (k, v) -> v, maximum weight 10, put(i, i) for i = 1...5 - Verifying weight() = 9 and size() = 2")
+	public void Test3() throws Throwable {
+		T = new LRUCache<Integer, Integer>(10, (k, v) -> v);
+		for(int i=1; i<=5; i++)
+				T.put(i, i);
+
+		org.junit.Assert.assertEquals("Weigher (k, v) -> v, maximum weight 10, put(i, i) for i = 1...5 - Verifying weight() = 9 and size() = 2", (Object)("9 2"), (Object)(T.weight() + " " + T.size()));
+	}
+
+}
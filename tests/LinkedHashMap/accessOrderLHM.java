@@ -0,0 +1,61 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Linked Hash Map: put(i, i) for i = 0...9, in insertion and access order")
+public class accessOrderLHM {
+
+	private LinkedHashMap<Integer, Integer> TARGET = init(false);
+	private LinkedHashMap<Integer, Integer> T = init(true);
+
+	public LinkedHashMap<Integer, Integer> init(boolean accessOrder) {
+		return new LinkedHashMap<Integer, Integer>(4, accessOrder);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<10; i++)
+			{
+				TARGET.put(i, i);
+				T.put(i, i);
+			}
+	}
+
+	//returns the keys of the map in iteration order
+	private String keys(LinkedHashMap<Integer, Integer> map) {
+		String answer = "";
+		for(Entry<Integer,Integer> e : map.entrySet())
+				answer += e.getKey();
+		return answer;
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("get(3), put(5, 50) - Verifying insertion order is 0123456789")
+	public void Test1() throws Throwable {
+		TARGET.get(3);
+		TARGET.put(5, 50);
+
+		org.junit.Assert.assertEquals("get(3), put(5, 50) - Verifying insertion order is 0123456789", (Object)("0123456789"), (Object)(keys(TARGET)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("get(3), put(5, 50) - Verifying access order is 0124678935")
+	public void Test2() throws Throwable {
+		T.get(3);
+		T.put(5, 50);
+
+		org.junit.Assert.assertEquals("get(3), put(5, 50) - Verifying access order is 0124678935", (Object)("0124678935"), (Object)(keys(T)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("remove(0), remove(4), put(0, 0) - Verifying order is 123567890 and eldestEntry() is 1")
+	public void Test3() throws Throwable {
+		TARGET.remove(0);
+		TARGET.remove(4);
+		TARGET.put(0, 0);
+
+		org.junit.Assert.assertEquals("remove(0), remove(4), put(0, 0) - Verifying order is 123567890 and eldestEntry() is 1", (Object)("123567890 1"), (Object)(keys(TARGET) + " " + TARGET.eldestEntry().getKey()));
+	}
+
+}
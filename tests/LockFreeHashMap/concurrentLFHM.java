@@ -0,0 +1,108 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@jug.SuiteName("Concurrent: LockFreeHashMap writers, cooperative resizes and iteration")
+public class concurrentLFHM {
+
+	//iterates entrySet until stop is set, recording the first entry whose value doesn't match
+	//its key or the first exception thrown
+	private static Thread iterate(final LockFreeHashMap<Integer, Integer> map, final AtomicBoolean stop, final String[] error) {
+		Thread t = new Thread() {
+			public void run() {
+				try {
+					while (!stop.get()) {
+						for (Entry<Integer, Integer> e : map.entrySet()) {
+							if (e.getKey() < 1000000 && !e.getKey().equals(e.getValue())) {
+								error[0] = "entry " + e.getKey() + "=" + e.getValue();
+								return;
+							}
+						}
+					}
+				} catch (Throwable x) {
+					error[0] = x.toString();
+				}
+			}
+		};
+		t.start();
+		return t;
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("LockFreeHashMap(2), 4 threads put(i, i) for 5000 keys each while 2 threads iterate entrySet - Verifying no exception, size() = 20000, every get(i) = i")
+	public void Test1() throws Throwable {
+		final LockFreeHashMap<Integer, Integer> TARGET = new LockFreeHashMap<Integer, Integer>(2);
+		final AtomicBoolean stop = new AtomicBoolean();
+		final String[] error = new String[1];
+		Thread r1 = iterate(TARGET, stop, error);
+		Thread r2 = iterate(TARGET, stop, error);
+		Thread[] writers = new Thread[4];
+		for(int t=0; t<4; t++) {
+			final int base = t * 5000;
+			writers[t] = new Thread() {
+				public void run() {
+					for(int i=base; i<base+5000; i++)
+						TARGET.put(i, i);
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread w : writers)
+			w.join();
+		stop.set(true);
+		r1.join();
+		r2.join();
+		int found = 0;
+		for(int i=0; i<20000; i++)
+			if (TARGET.get(i) != null && TARGET.get(i) == i)
+				found++;
+		int iterated = 0;
+		for(Entry<Integer, Integer> e : TARGET.entrySet())
+			iterated++;
+
+		org.junit.Assert.assertEquals("LockFreeHashMap(2), 4 threads put(i, i) for 5000 keys each while 2 threads iterate entrySet - Verifying no exception, size() = 20000, every get(i) = i", (Object)("null 20000 20000 20000 true"), (Object)(error[0] + " " + TARGET.size() + " " + found + " " + iterated + " " + (TARGET.tableSize() >= 16384)));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("LockFreeHashMap(2), 4 threads put(i, i) then remove odd i on their own keys and compute(k, +1) on 500 shared keys while iterating - Verifying no exception, final contents and size()")
+	public void Test2() throws Throwable {
+		final LockFreeHashMap<Integer, Integer> TARGET = new LockFreeHashMap<Integer, Integer>(2);
+		final AtomicBoolean stop = new AtomicBoolean();
+		final String[] error = new String[1];
+		Thread r1 = iterate(TARGET, stop, error);
+		Thread[] writers = new Thread[4];
+		for(int t=0; t<4; t++) {
+			final int base = t * 4000;
+			writers[t] = new Thread() {
+				public void run() {
+					for(int i=base; i<base+4000; i++) {
+						TARGET.put(i, i);
+						//shared counters live above 1000000 so the iterators skip them
+						int k = 1000000 + (i % 500);
+						TARGET.compute(k, (key, v) -> v == null ? 1 : v + 1);
+					}
+					for(int i=base+1; i<base+4000; i+=2)
+						TARGET.remove(i);
+				}
+			};
+			writers[t].start();
+		}
+		for(Thread w : writers)
+			w.join();
+		stop.set(true);
+		r1.join();
+		String wrong = "";
+		for(int i=0; i<16000; i++) {
+			Integer v = TARGET.get(i);
+			if ((i % 2 == 0) ? (v == null || v != i) : v != null)
+				wrong += " " + i;
+		}
+		for(int k=1000000; k<1000500; k++)
+			if (TARGET.get(k) == null || TARGET.get(k) != 32)
+				wrong += " " + k + "=" + TARGET.get(k);
+
+		org.junit.Assert.assertEquals("LockFreeHashMap(2), 4 threads put(i, i) then remove odd i on their own keys and compute(k, +1) on 500 shared keys while iterating - Verifying no exception, final contents and size()", (Object)("null 8500 "), (Object)(error[0] + " " + TARGET.size() + " " + wrong));
+	}
+}
@@ -0,0 +1,53 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("LongObjectHashMap: zero key, backward shift deletes and growth")
+public class probeChainLOHM {
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(0, x), put(0, y), remove(0) - Verifying the returned values, get(0) and size()")
+	public void Test1() throws Throwable {
+		LongObjectHashMap<String> TARGET = new LongObjectHashMap<String>(64);
+		String steps = TARGET.put(0L, "x") + " " + TARGET.get(0L) + " " + TARGET.size();
+		steps += " " + TARGET.put(0L, "y") + " " + TARGET.size();
+		steps += " " + TARGET.remove(0L) + " " + TARGET.get(0L) + " " + TARGET.containsKey(0L) + " " + TARGET.size();
+
+		org.junit.Assert.assertEquals("put(0, x), put(0, y), remove(0) - Verifying the returned values, get(0) and size()", (Object)("null x 1 x 1 y null false 0"), (Object)(steps));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 48 keys into a 64 slot table, remove them in scrambled order - Verifying every remaining key is found after each remove")
+	public void Test2() throws Throwable {
+		//48 keys in 64 slots leave long probe runs, so removes have to shift entries back across them
+		LongObjectHashMap<String> TARGET = new LongObjectHashMap<String>(64);
+		for(int i=0; i<48; i++)
+				TARGET.put((((long) i << 33) + 1), "" + (((long) i << 33) + 1));
+		boolean found = true;
+		boolean[] removed = new boolean[48];
+		for(int r=0; r<48; r++) {
+				int gone = r * 29 % 48;
+				removed[gone] = true;
+				TARGET.remove((((long) gone << 33) + 1));
+				for(int i=0; i<48; i++)
+						found &= removed[i] ? TARGET.get((((long) i << 33) + 1)) == null : ("" + (((long) i << 33) + 1)).equals(TARGET.get((((long) i << 33) + 1)));
+		}
+
+		org.junit.Assert.assertEquals("put 48 keys into a 64 slot table, remove them in scrambled order - Verifying every remaining key is found after each remove", (Object)("true 0"), (Object)(found + " " + TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put 0 and 100000 more keys into a 16 slot table - Verifying size() = 100001, keySet() length and get of every key")
+	public void Test3() throws Throwable {
+		LongObjectHashMap<String> TARGET = new LongObjectHashMap<String>();
+		TARGET.put(0L, "x");
+		for(int i=0; i<100000; i++)
+				TARGET.put((((long) i << 33) + 1), "" + (((long) i << 33) + 1));
+		boolean found = "x".equals(TARGET.get(0L));
+		for(int i=0; i<100000; i++)
+				found &= ("" + (((long) i << 33) + 1)).equals(TARGET.get((((long) i << 33) + 1)));
+
+		org.junit.Assert.assertEquals("put 0 and 100000 more keys into a 16 slot table - Verifying size() = 100001, keySet() length and get of every key", (Object)("100001 100001 true"), (Object)(TARGET.size() + " " + TARGET.keySet().length + " " + found));
+	}
+}
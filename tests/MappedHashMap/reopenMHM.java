@@ -0,0 +1,151 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.nio.file.*;
+
+@jug.SuiteName("Mapped Hash Map: put(\"key\"+i, \"value\"+i) for i = 0...9999 into a new file, then remove(\"key\"+i) for even i")
+public class reopenMHM {
+
+	private Path file;
+	private MappedHashMap<String, String> TARGET;
+
+	public MappedHashMap<String, String> init() throws Throwable {
+		return init(file);
+	}
+
+	public MappedHashMap<String, String> init(Path path) throws Throwable {
+		return new MappedHashMap<String, String>(path, Codec.string(), Codec.string());
+	}
+
+	//copies the file with every change written so far but nothing flushed since, as a crash can leave it
+	public Path crashed() throws Throwable {
+		Path copy = Files.createTempFile("reopenMHM", ".crashed");
+		copy.toFile().deleteOnExit();
+		Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+		return copy;
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		file = Files.createTempFile("reopenMHM", ".map");
+		file.toFile().deleteOnExit();
+		TARGET = init();
+		for(int i=0; i<10000; i++)
+				TARGET.put("key"+i, "value"+i);
+		for(int i=0; i<10000; i+=2)
+				TARGET.remove("key"+i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("close(), then open the file again - Verifying size() = 5000 and get(\"key\"+i) finds exactly the odd keys")
+	public void Test1() throws Throwable {
+		TARGET.close();
+		MappedHashMap<String, String> T = init();
+		boolean found = true;
+		for(int i=0; i<10000; i++)
+				found &= (i % 2 == 1) ? ("value"+i).equals(T.get("key"+i)) : T.get("key"+i) == null;
+		T.close();
+
+		org.junit.Assert.assertEquals("close(), then open the file again - Verifying size() = 5000 and get(\"key\"+i) finds exactly the odd keys", (Object)("5000 true"), (Object)(T.size() + " " + found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("flush(), put(\"new\"+i, \"\"+i) for i = 0...9999 without closing, then open the file again - Verifying only the flushed entries are there")
+	public void Test2() throws Throwable {
+		TARGET.flush();
+		for(int i=0; i<10000; i++)
+				TARGET.put("new"+i, ""+i);
+		MappedHashMap<String, String> T = init(crashed());
+		boolean found = true;
+		for(int i=0; i<10000; i++)
+				found &= T.get("new"+i) == null && ((i % 2 == 1) == (T.get("key"+i) != null));
+		int k = 0;
+		for(Entry<String,String> e : T.entrySet())
+				k++;
+		T.close();
+
+		org.junit.Assert.assertEquals("flush(), put(\"new\"+i, \"\"+i) for i = 0...9999 without closing, then open the file again - Verifying only the flushed entries are there", (Object)("5000 5000 true"), (Object)(T.size() + " " + k + " " + found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("flush(), put(\"key\"+i, \"updated\") for i = 1, 5, 9..., remove(\"key\"+i) for i = 3, 7, 11..., put(\"new\"+i, \"\"+i) for i = 0...9999 without closing, then open the file again - Verifying every flushed entry is back as flushed")
+	public void Test3() throws Throwable {
+		//updates and backward shift deletes of flushed keys must not touch the index the file committed
+		TARGET.flush();
+		for(int i=1; i<10000; i+=4)
+				TARGET.put("key"+i, "updated");
+		for(int i=3; i<10000; i+=4)
+				TARGET.remove("key"+i);
+		for(int i=0; i<10000; i++)
+				TARGET.put("new"+i, ""+i);
+		Path copy = crashed();
+		MappedHashMap<String, String> T = init(copy);
+		boolean found = true;
+		for(int i=0; i<10000; i++)
+				found &= T.get("new"+i) == null && ((i % 2 == 1) ? ("value"+i).equals(T.get("key"+i)) : T.get("key"+i) == null);
+		int k = 0;
+		for(Entry<String,String> e : T.entrySet())
+				k++;
+		String recovered = T.size() + " " + k + " " + found;
+		T.put("after", "recovery");
+		T.close();
+		MappedHashMap<String, String> U = init(copy);
+		String reopened = U.size() + " " + U.get("after") + " " + U.get("key1");
+		U.close();
+
+		org.junit.Assert.assertEquals("flush(), put(\"key\"+i, \"updated\") for i = 1, 5, 9..., remove(\"key\"+i) for i = 3, 7, 11..., put(\"new\"+i, \"\"+i) for i = 0...9999 without closing, then open the file again - Verifying every flushed entry is back as flushed", (Object)("5000 5000 true 5001 recovery value1"), (Object)(recovered + " " + reopened));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("open the file again while it is open, then close() and open it again - Verifying the first open throws IOException and the second finds 5000 entries")
+	public void Test4() throws Throwable {
+		String failed = "no exception";
+		try {
+			init().close();
+		}
+		catch (java.io.IOException e) {
+			failed = "IOException";
+		}
+		TARGET.close();
+		MappedHashMap<String, String> T = init();
+		int size = T.size();
+		T.close();
+
+		org.junit.Assert.assertEquals("open the file again while it is open, then close() and open it again - Verifying the first open throws IOException and the second finds 5000 entries", (Object)("IOException 5000"), (Object)(failed + " " + size));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("flush(), then put(\"key1\", \"updated\") - Verifying garbageBytes() grows by less than 8192, not by a copy of the whole index")
+	public void Test5() throws Throwable {
+		TARGET.flush();
+		long before = TARGET.garbageBytes();
+		TARGET.put("key1", "updated");
+		long grown = TARGET.garbageBytes() - before;
+		TARGET.close();
+
+		org.junit.Assert.assertEquals("flush(), then put(\"key1\", \"updated\") - Verifying garbageBytes() grows by less than 8192, not by a copy of the whole index", (Object)(true), (Object)(grown < 8192));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("100 times put(\"key\"+i, \"round\"+r) for odd i and flush(), then put(\"new\", \"\") without flushing and open the file again - Verifying fileBytes() stays under 4 MB and every key has its last flushed value")
+	public void Test6() throws Throwable {
+		long largest = 0;
+		for(int r=0; r<100; r++) {
+			for(int i=1; i<10000; i+=2)
+					TARGET.put("key"+i, "round"+r);
+			TARGET.flush();
+			largest = Math.max(largest, TARGET.fileBytes());
+		}
+		TARGET.put("new", "");
+		MappedHashMap<String, String> T = init(crashed());
+		boolean found = T.get("new") == null;
+		for(int i=0; i<10000; i++)
+				found &= (i % 2 == 1) ? "round99".equals(T.get("key"+i)) : T.get("key"+i) == null;
+		T.close();
+		TARGET.close();
+
+		org.junit.Assert.assertEquals("100 times put(\"key\"+i, \"round\"+r) for odd i and flush(), then put(\"new\", \"\") without flushing and open the file again - Verifying fileBytes() stays under 4 MB and every key has its last flushed value", (Object)("true 5000 true"), (Object)((largest < (4 << 20)) + " " + T.size() + " " + found));
+	}
+
+}
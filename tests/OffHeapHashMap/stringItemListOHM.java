@@ -0,0 +1,54 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Off Heap Hash Map: put(\"key\"+i, \"value\"+i) for i = 0...9999, then put(\"key\"+i, \"v\"+i) for odd i")
+public class stringItemListOHM {
+
+	private OffHeapHashMap<String, String> TARGET = init();
+
+	public OffHeapHashMap<String, String> init() {
+		return new OffHeapHashMap<String, String>(Codec.string(), Codec.string());
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<10000; i++)
+				TARGET.put("key"+i, "value"+i);
+		for(int i=1; i<10000; i+=2)
+				TARGET.put("key"+i, "v"+i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("remove(\"key\"+i) for i % 4 = 0 - Verifying get(\"key\"+i) for every i, size() and entrySet() count = 7500")
+	public void Test1() throws Throwable {
+		for(int i=0; i<10000; i+=4)
+				TARGET.remove("key"+i);
+		boolean found = true;
+		for(int i=0; i<10000; i++) {
+				String expected = (i % 4 == 0) ? null : (i % 2 == 1) ? "v"+i : "value"+i;
+				found &= (expected == null) ? TARGET.get("key"+i) == null : expected.equals(TARGET.get("key"+i));
+		}
+		int k = 0;
+		for(Entry<String,String> e : TARGET.entrySet())
+				k++;
+
+		org.junit.Assert.assertEquals("remove(\"key\"+i) for i % 4 = 0 - Verifying get(\"key\"+i) for every i, size() and entrySet() count = 7500", (Object)("true 7500 7500"), (Object)(found + " " + TARGET.size() + " " + k));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("close() - Verifying get(\"key\"+1) throws IllegalStateException")
+	public void Test2() throws Throwable {
+		TARGET.close();
+		String thrown = "none";
+		try {
+				TARGET.get("key"+1);
+		} catch (IllegalStateException e) {
+				thrown = "IllegalStateException";
+		}
+
+		org.junit.Assert.assertEquals("close() - Verifying get(\"key\"+1) throws IllegalStateException", (Object)("IllegalStateException"), (Object)(thrown));
+	}
+
+}
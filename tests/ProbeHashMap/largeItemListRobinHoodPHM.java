@@ -0,0 +1,72 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Robin Hood Probing - Large Item List 10000 items [n[i],i], where n[0] is \"1234\" and n[i]=(721*x(n-1)+51)%10000 (as a string)")
+public class largeItemListRobinHoodPHM {
+
+	private ProbeHashMap<String, String> TARGET = init();
+	private ProbeHashMap<String, String> T = init();
+
+	public ProbeHashMap<String, String> init() {
+		return new ProbeHashMap<String, String>(4, ProbeHashMap.Probing.ROBIN_HOOD);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		int val = 1234;
+		for(int i=0; i<10000; i++)
+			{
+				TARGET.put(""+val, ""+i);
+				val = (721 * val + 51) % 10000;
+			}
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 10000")
+	public void Test1() throws Throwable {
+		
+		org.junit.Assert.assertEquals("Verifying size() = 10000", (Object)(10000), (Object)(TARGET.size()));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying get(i) for i = \"1\"...\"10000\"")
+	public void Test2() throws Throwable {
+		Integer [] key2value = new Integer[10000];
+		int val = 1234;
+		for(int i=0; i<10000; i++)
+			{
+				key2value[val]=i;
+				val = (721 * val + 51) % 10000;
+			}
+		boolean found = true;
+		for(int i=0; i<key2value.length; i++)
+				found = found && TARGET.get(""+i).equals(""+key2value[i]);
+		
+		org.junit.Assert.assertEquals("Verifying get(i) for i = \"1\"...\"10000\"", (Object)(true), (Object)(found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("remove(i) for even i - Verifying get(i) for odd i and size() = 5000")
+	public void Test3() throws Throwable {
+		for(int i=0; i<10000; i+=2)
+				TARGET.remove(""+i);
+		boolean found = true;
+		for(int i=1; i<10000; i+=2)
+				found = found && TARGET.get(""+i) != null;
+		
+		org.junit.Assert.assertEquals("remove(i) for even i - Verifying get(i) for odd i and size() = 5000", (Object)(true), (Object)(found && TARGET.size() == 5000));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying entrySet() count = 10000")
+	public void Test4() throws Throwable {
+		int k = 0;
+		for(Entry<String,String> e : TARGET.entrySet())
+				k++;
+		
+		org.junit.Assert.assertEquals("Verifying entrySet() count = 10000", (Object)(10000), (Object)(k));
+	}
+
+}
@@ -0,0 +1,54 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Swiss Hash Map: put(\"\"+i, i) for i = 0...9999, then remove(\"\"+i) for even i")
+public class tombstoneSHM {
+
+	private SwissHashMap<String, Integer> TARGET = init();
+
+	public SwissHashMap<String, Integer> init() {
+		return new SwissHashMap<String, Integer>();
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<10000; i++)
+				TARGET.put(""+i, i);
+		for(int i=0; i<10000; i+=2)
+				TARGET.remove(""+i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 5000 and get(\"\"+i) finds exactly the odd keys")
+	public void Test1() throws Throwable {
+		int found = 0;
+		boolean right = true;
+		for(int i=0; i<10000; i++) {
+				Integer v = TARGET.get(""+i);
+				if (v != null) found++;
+				right &= (i % 2 == 1) ? Integer.valueOf(i).equals(v) : v == null;
+		}
+
+		org.junit.Assert.assertEquals("Verifying size() = 5000 and get(\"\"+i) finds exactly the odd keys", (Object)("5000 5000 true"), (Object)(TARGET.size() + " " + found + " " + right));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("remove and put back 100000 times - Verifying the table doesn't grow and size() = 5000")
+	public void Test2() throws Throwable {
+		int slots = TARGET.tableSize();
+		for(int i=0; i<100000; i++) {
+				TARGET.remove(""+(2*(i%5000)+1));
+				TARGET.put("x"+i, i);
+				TARGET.remove("x"+i);
+				TARGET.put(""+(2*(i%5000)+1), 2*(i%5000)+1);
+		}
+		int k = 0;
+		for(Entry<String,Integer> e : TARGET.entrySet())
+				k++;
+
+		org.junit.Assert.assertEquals("remove and put back 100000 times - Verifying the table doesn't grow and size() = 5000", (Object)(slots + " 5000 5000"), (Object)(TARGET.tableSize() + " " + TARGET.size() + " " + k));
+	}
+
+}
@@ -0,0 +1,75 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+import java.util.Random;
+
+//hit ratio against cache size on a seeded trace of 200000 requests: 70% drawn from a zipf(0.9)
+//distribution over 10000 keys, 30% one hit wonders that are never requested again
+public class hitRatioTinyLFU implements DataSeries {
+
+	private TinyLFUCache<Integer, Integer> TARGET = init(16);
+	private TinyLFUCache<Integer, Integer> T = init(16);
+
+	public TinyLFUCache<Integer, Integer> init(int maxEntries) {
+		return new TinyLFUCache<Integer, Integer>(maxEntries);
+	}
+
+	public int[] trace() {
+		int keys = 10000;
+		int length = 200000;
+		double[] cdf = new double[keys];
+		double sum = 0;
+		for(int i = 0; i < keys; i++) {
+			sum += 1 / Math.pow(i + 1, 0.9);
+			cdf[i] = sum;
+		}
+		Random random = new Random(42);
+		int[] trace = new int[length];
+		int unique = keys;
+		for(int i = 0; i < length; i++) {
+			if (random.nextInt(10) < 3) {
+				trace[i] = unique++;
+				continue;
+			}
+			double u = random.nextDouble() * sum;
+			int low = 0;
+			int high = keys - 1;
+			while (low < high) {
+				int mid = (low + high) / 2;
+				if (cdf[mid] < u)
+					low = mid + 1;
+				else
+					high = mid;
+			}
+			trace[i] = low;
+		}
+		return trace;
+	}
+
+	public double[] xAxis() throws Throwable {
+		
+			double[] xAxis = {50, 100, 250, 500, 1000, 2000};
+			return xAxis;  
+         	
+	}
+
+	public double[] yAxis() throws Throwable {
+		
+			int[] trace = trace();
+			double[] xAxis = xAxis();
+			double[] yAxis = new double[xAxis.length];
+			for(int index = 0; index < xAxis.length; index++) {
+				TARGET = init((int) xAxis[index]);
+				for(int key : trace) {
+					if (TARGET.get(key) == null) {
+						TARGET.put(key, key);
+					}
+				}
+				yAxis[index] = TARGET.hitRate();
+
+			} // end for index
+             		return yAxis;
+		
+	}
+}
@@ -0,0 +1,52 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("TinyLFU Cache: maximum 100 entries, keys 0...9 put and read 5 times each")
+public class scanResistanceTinyLFU {
+
+	private TinyLFUCache<Integer, Integer> TARGET = init();
+	private TinyLFUCache<Integer, Integer> T = init();
+
+	public TinyLFUCache<Integer, Integer> init() {
+		return new TinyLFUCache<Integer, Integer>(100);
+	}
+
+	@Before
+	public void setup() throws Throwable {
+		for(int i=0; i<10; i++)
+				TARGET.put(i, i);
+		for(int n=0; n<5; n++)
+			for(int i=0; i<10; i++)
+				TARGET.get(i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Scan get/put of keys 1000...9999, reading keys 0...9 every 200 keys - Verifying keys 0...9 are still cached and size() = 100")
+	public void Test1() throws Throwable {
+		for(int i=1000; i<10000; i++)
+			{
+				if (TARGET.get(i) == null)
+						TARGET.put(i, i);
+				if (i % 200 == 0)
+					for(int k=0; k<10; k++)
+							TARGET.get(k);
+			}
+		boolean found = true;
+		for(int i=0; i<10; i++)
+				found = found && TARGET.get(i) != null;
+
+		org.junit.Assert.assertEquals("Scan get/put of keys 1000...9999, reading keys 0...9 every 200 keys - Verifying keys 0...9 are still cached and size() = 100", (Object)(true), (Object)(found && TARGET.size() == 100));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("put(i, i) for i = 100...299 - Verifying evictionCount() = 110")
+	public void Test2() throws Throwable {
+		for(int i=100; i<300; i++)
+				TARGET.put(i, i);
+
+		org.junit.Assert.assertEquals("put(i, i) for i = 100...299 - Verifying evictionCount() = 110", (Object)(110L), (Object)(TARGET.evictionCount()));
+	}
+
+}
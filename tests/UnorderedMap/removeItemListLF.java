@@ -0,0 +1,42 @@
+import org.junit.*;
+import jug.*;
+import cs2321.*;
+import net.datastructures.*;
+
+@jug.SuiteName("Remove Map: put(\"\"+i, i) for i = 0...99, then remove(\"\"+i) for even i")
+public class removeItemListLF {
+
+	private UnorderedMap<String, Integer> TARGET;
+
+	@Before
+	public void setup() throws Throwable {
+		TARGET = new UnorderedMap<String, Integer>();
+		for(int i=0; i<100; i++)
+				TARGET.put(""+i, i);
+		for(int i=0; i<100; i+=2)
+				TARGET.remove(""+i);
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying size() = 50, get(\"\"+i) = i for odd i and get(\"\"+i) = null for even i")
+	public void Test1() throws Throwable {
+		boolean found = true;
+		for(int i=0; i<100; i++)
+				found &= (i % 2 == 1) ? Integer.valueOf(i).equals(TARGET.get(""+i)) : TARGET.get(""+i) == null;
+
+		org.junit.Assert.assertEquals("Verifying size() = 50, get(\"\"+i) = i for odd i and get(\"\"+i) = null for even i", (Object)("50 true"), (Object)(TARGET.size() + " " + found));
+	}
+
+	@org.junit.Test(timeout=60000)
+	@jug.TestName("Verifying entrySet() holds the 50 odd keys, each with its value")
+	public void Test2() throws Throwable {
+		int count = 0;
+		boolean matched = true;
+		for(Entry<String, Integer> e : TARGET.entrySet()) {
+				count++;
+				matched &= e.getValue() % 2 == 1 && e.getKey().equals(""+e.getValue());
+		}
+
+		org.junit.Assert.assertEquals("Verifying entrySet() holds the 50 odd keys, each with its value", (Object)("50 true"), (Object)(count + " " + matched));
+	}
+}